@@ -0,0 +1,120 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Set;
+
+/**
+ * 建置時把 CSV 資源轉成 Java 常數
+ * Maven 在 generate-sources 階段以單檔原始碼方式執行 (java PrecompiledResourcesGenerator.java ...)，
+ * 產生 org/example/PrecompiledData.java，執行時不需讀檔、解析或檢查檔案時間
+ * 解析規則與 PitchStrategy.parseZoneCsv、parsePitchTypesCsv 相同，球種數值在此驗證，資料有誤時建置失敗
+ * 用法：PrecompiledResourcesGenerator 輸出原始碼目錄 資源目錄 CSV檔名...，依標題列判斷是球種資料或區域數據
+ */
+public final class PrecompiledResourcesGenerator {
+
+    private static final Set<String> ZONES = Set.of("1", "2", "3", "4", "5", "6", "7", "8", "9", "x1", "x2", "x3", "x4");
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("用法: PrecompiledResourcesGenerator <輸出原始碼目錄> <資源目錄> <CSV檔名>...");
+            System.exit(1);
+        }
+        StringBuilder zoneCases = new StringBuilder();
+        StringBuilder pitchTypeCases = new StringBuilder();
+        for (int i = 2; i < args.length; i++) {
+            Path csv = Paths.get(args[1], args[i]);
+            try (BufferedReader reader = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+                String header = reader.readLine();
+                if (header != null && header.startsWith("name,")) {
+                    pitchTypeCases.append(pitchTypeCase(args[i], reader));
+                } else {
+                    zoneCases.append(zoneCase(args[i], reader));
+                }
+            } catch (IllegalArgumentException e) {
+                System.err.println(csv + ": " + e.getMessage());
+                System.exit(1);
+            }
+        }
+
+        String source = "package org.example;\n\n"
+                + "import java.util.ArrayList;\n"
+                + "import java.util.HashMap;\n"
+                + "import java.util.List;\n"
+                + "import java.util.Map;\n\n"
+                + "// 由 src/build/java/PrecompiledResourcesGenerator.java 依 CSV 資源產生，請勿手動修改\n"
+                + "final class PrecompiledData {\n\n"
+                + "    private PrecompiledData() {\n"
+                + "    }\n\n"
+                + "    static Map<String, Integer> zoneData(String csvName) {\n"
+                + "        switch (csvName) {\n"
+                + zoneCases
+                + "            default:\n"
+                + "                return null;\n"
+                + "        }\n"
+                + "    }\n\n"
+                + "    static List<PitchType> pitchTypes(String csvName) {\n"
+                + "        switch (csvName) {\n"
+                + pitchTypeCases
+                + "            default:\n"
+                + "                return null;\n"
+                + "        }\n"
+                + "    }\n"
+                + "}\n";
+
+        // 內容相同時不覆寫，避免每次建置都重新編譯
+        Path output = Paths.get(args[0], "org", "example", "PrecompiledData.java");
+        if (Files.exists(output) && Files.readString(output, StandardCharsets.UTF_8).equals(source)) {
+            return;
+        }
+        Files.createDirectories(output.getParent());
+        Files.writeString(output, source, StandardCharsets.UTF_8);
+    }
+
+    // 每次呼叫回傳新的 HashMap，與解析 CSV 的結果一樣可以修改
+    private static String zoneCase(String csvName, BufferedReader reader) throws IOException {
+        StringBuilder code = new StringBuilder("            case " + literal(csvName) + ": {\n"
+                + "                Map<String, Integer> data = new HashMap<>();\n");
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String[] parts = line.split(",");
+            if (parts.length >= 2 && ZONES.contains(parts[0])) {
+                code.append("                data.put(").append(literal(parts[0])).append(", ")
+                        .append(Integer.parseInt(parts[1].trim())).append(");\n");
+            }
+        }
+        return code.append("                return data;\n            }\n").toString();
+    }
+
+    private static String pitchTypeCase(String csvName, BufferedReader reader) throws IOException {
+        StringBuilder code = new StringBuilder("            case " + literal(csvName) + ": {\n"
+                + "                List<PitchType> pitchTypes = new ArrayList<>();\n");
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String[] parts = line.split(",");
+            if (parts.length < 5) {
+                continue;
+            }
+            String name = parts[0].trim();
+            int minSpeed = Integer.parseInt(parts[1].trim());
+            int maxSpeed = Integer.parseInt(parts[2].trim());
+            int minSpin = Integer.parseInt(parts[3].trim());
+            int maxSpin = Integer.parseInt(parts[4].trim());
+            // 與 PitchType 建構子相同的檢查
+            if (name.isEmpty() || minSpeed > maxSpeed || minSpin > maxSpin
+                    || minSpeed < 0 || maxSpeed < 0 || minSpin < 0 || maxSpin < 0) {
+                throw new IllegalArgumentException("無效的球種資料: " + line);
+            }
+            code.append("                pitchTypes.add(PitchType.prevalidated(").append(literal(name))
+                    .append(", ").append(minSpeed).append(", ").append(maxSpeed)
+                    .append(", ").append(minSpin).append(", ").append(maxSpin).append("));\n");
+        }
+        return code.append("                return pitchTypes;\n            }\n").toString();
+    }
+
+    private static String literal(String text) {
+        return '"' + text.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+}
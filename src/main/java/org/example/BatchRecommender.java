@@ -0,0 +1,223 @@
+package org.example;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 批次產生聯盟打者的投球建議
+ * 以固定大小的區塊讀取 LeagueData 串流，交給執行緒池計算後依原順序寫出
+ * 同時處理中的區塊數有上限，記憶體用量與輸入大小無關
+ * 輸出 CSV 格式：標題列後每列為 batter_id,start,end_ball_ok,end_strike_only (區域代號)
+ * 輸出二進位格式：4位元組識別碼與版本後，每位打者為 long 編號與3個區域序數 byte
+ * 結果以 ZoneStats.recommendation 組出，與 PitchStrategy.pitch 相同
+ */
+public final class BatchRecommender {
+
+    /** 預設每個區塊的打者數量 */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 14;
+
+    static final int MAGIC = 0x504C4752;  // "PLGR"
+    static final int VERSION = 1;
+    static final int ROW_BYTES = Long.BYTES + 3;
+    static final String CSV_HEADER = "batter_id,start,end_ball_ok,end_strike_only";
+    // CSV 每列最長：20位數編號與3個欄位及換行
+    private static final int MAX_CSV_ROW = 20 + 3 * 3 + 1;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final int threads;
+    private final int chunkSize;
+
+    /**
+     * 建構子
+     * @param threads 計算用的執行緒數
+     * @param chunkSize 每個區塊的打者數量
+     */
+    public BatchRecommender(int threads, int chunkSize) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("執行緒數必須大於0: " + threads);
+        }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("區塊大小必須大於0: " + chunkSize);
+        }
+        this.threads = threads;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * 讀取整個輸入並寫出所有打者的投球建議
+     * @param in 打者數據輸入，完成後關閉
+     * @param inputFormat 輸入格式
+     * @param out 建議輸出，完成後關閉
+     * @param outputFormat 輸出格式
+     * @return 處理的打者數量
+     */
+    public long run(InputStream in, LeagueData.Format inputFormat,
+                    OutputStream out, LeagueData.Format outputFormat) throws IOException {
+        // 每條執行緒兩個區塊，讀取與計算可以重疊
+        int maxInFlight = threads * 2;
+        Deque<Future<Chunk>> pending = new ArrayDeque<>();
+        Deque<Chunk> free = new ArrayDeque<>();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "batch-recommender");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long count = 0;
+        try (LeagueData.RowReader reader = LeagueData.reader(in, inputFormat);
+             OutputStream sink = new BufferedOutputStream(out, BUFFER_SIZE)) {
+            writeHeader(sink, outputFormat);
+            while (true) {
+                Chunk chunk = free.isEmpty() ? new Chunk(chunkSize) : free.pop();
+                if (!chunk.fill(reader)) {
+                    break;
+                }
+                count += chunk.size;
+                pending.add(executor.submit(() -> chunk.process(outputFormat)));
+                if (pending.size() >= maxInFlight) {
+                    free.push(writeNext(pending, sink));
+                }
+            }
+            while (!pending.isEmpty()) {
+                free.push(writeNext(pending, sink));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return count;
+    }
+
+    private static Chunk writeNext(Deque<Future<Chunk>> pending, OutputStream sink) throws IOException {
+        Chunk chunk;
+        try {
+            chunk = pending.poll().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("批次處理被中斷");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException("批次處理失敗", e.getCause());
+        }
+        sink.write(chunk.output, 0, chunk.length);
+        return chunk;
+    }
+
+    private static void writeHeader(OutputStream sink, LeagueData.Format format) throws IOException {
+        if (format == LeagueData.Format.BINARY) {
+            DataOutputStream header = new DataOutputStream(sink);
+            header.writeInt(MAGIC);
+            header.writeInt(VERSION);
+        } else {
+            sink.write((CSV_HEADER + "\n").getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+
+    /**
+     * 一個區塊的輸入與輸出緩衝區，寫出後重複使用
+     */
+    private static final class Chunk {
+        final long[] ids;
+        final int[][] pitches;
+        final int[][] hits;
+        final byte[] highest;
+        final byte[] lowest;
+        final byte[] lowestStrike;
+        final int[] rowPitches = new int[Zone.COUNT];
+        final int[] rowHits = new int[Zone.COUNT];
+        byte[] output = new byte[0];
+        int size;
+        int length;
+
+        Chunk(int capacity) {
+            ids = new long[capacity];
+            pitches = new int[Zone.COUNT][capacity];
+            hits = new int[Zone.COUNT][capacity];
+            highest = new byte[capacity];
+            lowest = new byte[capacity];
+            lowestStrike = new byte[capacity];
+        }
+
+        boolean fill(LeagueData.RowReader reader) throws IOException {
+            size = 0;
+            while (size < ids.length) {
+                if (!reader.next(rowPitches, rowHits)) {
+                    break;
+                }
+                ids[size] = reader.batterId();
+                for (int z = 0; z < Zone.COUNT; z++) {
+                    pitches[z][size] = rowPitches[z];
+                    hits[z][size] = rowHits[z];
+                }
+                size++;
+            }
+            return size > 0;
+        }
+
+        Chunk process(LeagueData.Format format) {
+            ZoneStats.extremes(pitches, hits, 0, size, highest, lowest, lowestStrike);
+            boolean binary = format == LeagueData.Format.BINARY;
+            int needed = size * (binary ? ROW_BYTES : MAX_CSV_ROW);
+            if (output.length < needed) {
+                output = new byte[needed];
+            }
+            length = 0;
+            for (int i = 0; i < size; i++) {
+                PitchResult ballOk = ZoneStats.recommendation(highest[i], lowest[i], true);
+                int start = ballOk.getStart().ordinal();
+                int ballOkEnd = ballOk.getEnd().ordinal();
+                int strikeOnlyEnd = ZoneStats.recommendation(highest[i], lowestStrike[i], false).getEnd().ordinal();
+                if (binary) {
+                    writeLong(ids[i]);
+                    output[length++] = (byte) start;
+                    output[length++] = (byte) ballOkEnd;
+                    output[length++] = (byte) strikeOnlyEnd;
+                } else {
+                    writeDigits(ids[i]);
+                    writeZone(start);
+                    writeZone(ballOkEnd);
+                    writeZone(strikeOnlyEnd);
+                    output[length++] = '\n';
+                }
+            }
+            return this;
+        }
+
+        private void writeLong(long value) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                output[length++] = (byte) (value >>> shift);
+            }
+        }
+
+        private void writeDigits(long value) {
+            int digits = 1;
+            for (long rest = value / 10; rest > 0; rest /= 10) {
+                digits++;
+            }
+            length += digits;
+            for (int i = length - 1; digits > 0; i--, digits--) {
+                output[i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+        }
+
+        private void writeZone(int ordinal) {
+            output[length++] = ',';
+            String id = Zone.of(ordinal).id();
+            for (int i = 0; i < id.length(); i++) {
+                output[length++] = (byte) id.charAt(i);
+            }
+        }
+    }
+}
@@ -30,45 +30,35 @@ public record Batter(Map<String, Integer> pitchBreakdown, Map<String, Integer> b
         return averages;
     }
 
-    // 取得最高打擊率的區域
+    // 取得最高打擊率的區域，與 PitchStrategy.pitch 共用 ZoneStats 的規則：
+    // 只考慮有效且投球數大於0的區域，打擊率相同時取序數較小者
     public String getHighestAverageZone() {
-        return getAllBattingAverages().entrySet()
-                .stream()
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
-                .orElse("5"); // 預設值
+        int zone = ZoneStats.argMax(zoneAverages(), 0, Zone.COUNT);
+        return zone < 0 ? "5" : Zone.of(zone).id(); // 預設值
     }
 
-    // 取得最低打擊率的區域
+    // 取得最低打擊率的區域，規則同上
     public String getLowestAverageZone() {
-        return getAllBattingAverages().entrySet()
-                .stream()
-                .min(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
-                .orElse("1"); // 預設值
+        int zone = ZoneStats.argMin(zoneAverages(), 0, Zone.COUNT);
+        return zone < 0 ? "1" : Zone.of(zone).id(); // 預設值
     }
 
-    // 取得好球區最低打擊率的區域
+    // 取得好球區最低打擊率的區域，規則同上
     public String getLowestAverageStrikeZone() {
-        return getAllBattingAverages().entrySet()
-                .stream()
-                .filter(e -> !e.getKey().startsWith("x"))
-                .min(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
-                .orElse("1"); // 預設值
+        int zone = ZoneStats.argMin(zoneAverages(), 0, Zone.X1.ordinal());
+        return zone < 0 ? "1" : Zone.of(zone).id(); // 預設值
+    }
+
+    private double[] zoneAverages() {
+        double[] averages = new double[Zone.COUNT];
+        ZoneStats.averages(this, averages);
+        return averages;
     }
 
     // 檢查區域是否有效
     public boolean isValidZone(String zone) {
-        if (zone == null || zone.isEmpty()) {
-            return false;
-        }
-        // 檢查壞球區域 (x1-x4)
-        if (zone.startsWith("x")) {
-            return zone.matches("x[1-4]");
-        }
-        // 檢查好球區域 (1-9)
-        return zone.matches("[1-9]");
+        // 好球區域 (1-9) 與壞球區域 (x1-x4)
+        return Zone.fromId(zone) != null;
     }
 
     // 取得總投球次數
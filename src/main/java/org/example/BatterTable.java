@@ -0,0 +1,223 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 以欄式陣列儲存整個聯盟打者的分區數據
+ * 每個區域各有一組投球數與安打數陣列，以打者編號為索引，避免大量 Map 物件
+ * 非執行緒安全，寫入應由單一執行緒進行
+ */
+public class BatterTable {
+
+    /**
+     * 打者數據變更通知
+     */
+    public interface Listener {
+        /**
+         * 新增打者後呼叫
+         * @param id 打者編號
+         */
+        void batterAdded(int id);
+
+        /**
+         * 打者數據更新後呼叫
+         * @param id 打者編號
+         */
+        void batterUpdated(int id);
+    }
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final int[][] pitches = new int[Zone.COUNT][];  // [區域][打者] 投球數
+    private final int[][] hits = new int[Zone.COUNT][];     // [區域][打者] 安打數
+    private final List<Listener> listeners = new ArrayList<>();
+    private int size;
+
+    public BatterTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * 建構子
+     * @param initialCapacity 預估打者數量
+     */
+    public BatterTable(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 1);
+        for (int z = 0; z < Zone.COUNT; z++) {
+            pitches[z] = new int[capacity];
+            hits[z] = new int[capacity];
+        }
+    }
+
+    /**
+     * 註冊數據變更通知
+     * @param listener 監聽者
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * 新增打者，無效區域會被忽略
+     * @param batter 打者資料
+     * @return 打者編號
+     */
+    public int add(Batter batter) {
+        int id = append();
+        copyFrom(id, batter);
+        for (Listener listener : listeners) {
+            listener.batterAdded(id);
+        }
+        return id;
+    }
+
+    /**
+     * 新增打者
+     * @param zonePitches 依區域序數排列的投球數 (長度13)
+     * @param zoneHits 依區域序數排列的安打數 (長度13)
+     * @return 打者編號
+     */
+    public int add(int[] zonePitches, int[] zoneHits) {
+        int id = append();
+        copyFrom(id, zonePitches, zoneHits);
+        for (Listener listener : listeners) {
+            listener.batterAdded(id);
+        }
+        return id;
+    }
+
+    /**
+     * 以新數據取代既有打者
+     * @param id 打者編號
+     * @param batter 打者資料
+     */
+    public void set(int id, Batter batter) {
+        checkId(id);
+        copyFrom(id, batter);
+        for (Listener listener : listeners) {
+            listener.batterUpdated(id);
+        }
+    }
+
+    /**
+     * 以新數據取代既有打者
+     * @param id 打者編號
+     * @param zonePitches 依區域序數排列的投球數 (長度13)
+     * @param zoneHits 依區域序數排列的安打數 (長度13)
+     */
+    public void set(int id, int[] zonePitches, int[] zoneHits) {
+        checkId(id);
+        copyFrom(id, zonePitches, zoneHits);
+        for (Listener listener : listeners) {
+            listener.batterUpdated(id);
+        }
+    }
+
+    /**
+     * 取得打者數量
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 取得特定區域的投球數
+     */
+    public int pitches(int id, Zone zone) {
+        checkId(id);
+        return pitches[zone.ordinal()][id];
+    }
+
+    /**
+     * 取得特定區域的安打數
+     */
+    public int hits(int id, Zone zone) {
+        checkId(id);
+        return hits[zone.ordinal()][id];
+    }
+
+    /**
+     * 計算特定區域的打擊率，與 Batter.getBattingAverage 相同定義
+     */
+    public double average(int id, Zone zone) {
+        checkId(id);
+        int p = pitches[zone.ordinal()][id];
+        return p > 0 ? (double) hits[zone.ordinal()][id] / p : 0.0;
+    }
+
+    /**
+     * 轉換回 Batter 物件，只包含投球數大於0的區域
+     * @param id 打者編號
+     * @return 打者資料
+     */
+    public Batter toBatter(int id) {
+        checkId(id);
+        Map<String, Integer> pitchBreakdown = new HashMap<>();
+        Map<String, Integer> hitsBreakdown = new HashMap<>();
+        for (int z = 0; z < Zone.COUNT; z++) {
+            if (pitches[z][id] > 0) {
+                pitchBreakdown.put(Zone.of(z).id(), pitches[z][id]);
+                hitsBreakdown.put(Zone.of(z).id(), hits[z][id]);
+            }
+        }
+        return new Batter(pitchBreakdown, hitsBreakdown);
+    }
+
+    // 供批次運算直接讀取的欄位陣列，長度可能大於 size()
+    int[] pitchColumn(int zoneOrdinal) {
+        return pitches[zoneOrdinal];
+    }
+
+    int[] hitColumn(int zoneOrdinal) {
+        return hits[zoneOrdinal];
+    }
+
+    int[][] pitchColumns() {
+        return pitches;
+    }
+
+    int[][] hitColumns() {
+        return hits;
+    }
+
+    private int append() {
+        if (size == pitches[0].length) {
+            int capacity = pitches[0].length + (pitches[0].length >> 1) + 1;
+            for (int z = 0; z < Zone.COUNT; z++) {
+                pitches[z] = Arrays.copyOf(pitches[z], capacity);
+                hits[z] = Arrays.copyOf(hits[z], capacity);
+            }
+        }
+        return size++;
+    }
+
+    private void copyFrom(int id, Batter batter) {
+        Map<String, Integer> pitchBreakdown = batter.pitchBreakdown();
+        Map<String, Integer> hitsBreakdown = batter.baseHitsBreakdown();
+        for (int z = 0; z < Zone.COUNT; z++) {
+            String zone = Zone.of(z).id();
+            pitches[z][id] = pitchBreakdown.getOrDefault(zone, 0);
+            hits[z][id] = hitsBreakdown.getOrDefault(zone, 0);
+        }
+    }
+
+    private void copyFrom(int id, int[] zonePitches, int[] zoneHits) {
+        if (zonePitches.length != Zone.COUNT || zoneHits.length != Zone.COUNT) {
+            throw new IllegalArgumentException("區域數據長度必須為" + Zone.COUNT);
+        }
+        for (int z = 0; z < Zone.COUNT; z++) {
+            pitches[z][id] = zonePitches[z];
+            hits[z][id] = zoneHits[z];
+        }
+    }
+
+    private void checkId(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("無效的打者編號: " + id);
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package org.example;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 聯盟打者分區數據的串流檔案格式
+ * 每位打者一列，依區域序數依序為13個投球數與13個安打數
+ * CSV 格式：標題列後每列為 batter_id,p_1..p_x4,h_1..h_x4
+ * 二進位格式：4位元組識別碼與版本後，每位打者為 long 編號與26個 int (大端序)
+ * 打者編號不可為負數，投球數與安打數介於0與 int 上限之間，讀取時違反即拋出 IOException
+ */
+public final class LeagueData {
+
+    /**
+     * 檔案格式
+     */
+    public enum Format {
+        CSV, BINARY;
+
+        /**
+         * 依副檔名判斷格式，.bin 為二進位，其餘為 CSV
+         * @param fileName 檔名
+         * @return 檔案格式
+         */
+        public static Format fromFileName(String fileName) {
+            return fileName.endsWith(".bin") ? BINARY : CSV;
+        }
+    }
+
+    /**
+     * 逐列讀取打者數據
+     */
+    public interface RowReader extends Closeable {
+        /**
+         * 讀取下一位打者
+         * @param pitches 輸出13個區域的投球數
+         * @param hits 輸出13個區域的安打數
+         * @return 是否讀到打者，已無資料時回傳 false
+         */
+        boolean next(int[] pitches, int[] hits) throws IOException;
+
+        /**
+         * 最近一次 next 讀到的打者編號，不為負數
+         */
+        long batterId();
+    }
+
+    /**
+     * 逐列寫入打者數據
+     */
+    public interface RowWriter extends Closeable {
+        /**
+         * 寫入一位打者
+         * @param batterId 打者編號，不可為負數
+         * @param pitches 13個區域的投球數
+         * @param hits 13個區域的安打數
+         */
+        void write(long batterId, int[] pitches, int[] hits) throws IOException;
+    }
+
+    static final int MAGIC = 0x504C4742;  // "PLGB"
+    static final int VERSION = 1;
+    static final int ROW_BYTES = Long.BYTES + 2 * Zone.COUNT * Integer.BYTES;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private LeagueData() {
+    }
+
+    /**
+     * 建立讀取器
+     * @param in 輸入串流，關閉讀取器時一併關閉
+     * @param format 檔案格式
+     * @return 讀取器
+     */
+    public static RowReader reader(InputStream in, Format format) throws IOException {
+        return format == Format.BINARY ? new BinaryReader(in) : new CsvReader(in);
+    }
+
+    /**
+     * 建立寫入器
+     * @param out 輸出串流，關閉寫入器時一併關閉
+     * @param format 檔案格式
+     * @return 寫入器
+     */
+    public static RowWriter writer(OutputStream out, Format format) throws IOException {
+        return format == Format.BINARY ? new BinaryWriter(out) : new CsvWriter(out);
+    }
+
+    /**
+     * 將整個串流載入數據表
+     * @param in 輸入串流
+     * @param format 檔案格式
+     * @param table 目標數據表
+     * @return 載入的打者數量
+     */
+    public static int load(InputStream in, Format format, BatterTable table) throws IOException {
+        int[] pitches = new int[Zone.COUNT];
+        int[] hits = new int[Zone.COUNT];
+        int count = 0;
+        try (RowReader reader = reader(in, format)) {
+            while (reader.next(pitches, hits)) {
+                table.add(pitches, hits);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * CSV 標題列
+     */
+    public static String csvHeader() {
+        StringBuilder header = new StringBuilder("batter_id");
+        for (String prefix : new String[]{"p_", "h_"}) {
+            for (int z = 0; z < Zone.COUNT; z++) {
+                header.append(',').append(prefix).append(Zone.of(z).id());
+            }
+        }
+        return header.toString();
+    }
+
+    // 寫入的資料必須能被讀取端接受
+    private static void checkRow(long batterId, int[] pitches, int[] hits) {
+        if (batterId < 0) {
+            throw new IllegalArgumentException("打者編號不可為負數: " + batterId);
+        }
+        for (int z = 0; z < Zone.COUNT; z++) {
+            if (pitches[z] < 0 || hits[z] < 0) {
+                throw new IllegalArgumentException("投球數與安打數不可為負數");
+            }
+        }
+    }
+
+    private static final class CsvReader implements RowReader {
+        private final BufferedReader reader;
+        private long line = 1;
+        private int cursor;  // 目前解析到的字元位置
+        private long batterId;
+
+        CsvReader(InputStream in) throws IOException {
+            reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE);
+            // 跳過標題行
+            reader.readLine();
+        }
+
+        @Override
+        public boolean next(int[] pitches, int[] hits) throws IOException {
+            String text;
+            do {
+                text = reader.readLine();
+                line++;
+                if (text == null) {
+                    return false;
+                }
+            } while (text.isBlank());
+            // 不使用 split，直接逐欄解析數字
+            cursor = 0;
+            batterId = parseField(text);
+            for (int z = 0; z < Zone.COUNT; z++) {
+                pitches[z] = parseCount(text);
+            }
+            for (int z = 0; z < Zone.COUNT; z++) {
+                hits[z] = parseCount(text);
+            }
+            return true;
+        }
+
+        @Override
+        public long batterId() {
+            return batterId;
+        }
+
+        private int parseCount(String text) throws IOException {
+            long value = parseField(text);
+            if (value > Integer.MAX_VALUE) {
+                throw new IOException("第" + line + "行數值過大: " + text);
+            }
+            return (int) value;
+        }
+
+        private long parseField(String text) throws IOException {
+            int i = cursor;
+            int length = text.length();
+            long value = 0;
+            int start = i;
+            while (i < length && text.charAt(i) != ',') {
+                char c = text.charAt(i);
+                if (c == '\r' && i == length - 1) {
+                    break;
+                }
+                if (c < '0' || c > '9') {
+                    throw new IOException("第" + line + "行格式錯誤: " + text);
+                }
+                if (value > (Long.MAX_VALUE - (c - '0')) / 10) {
+                    throw new IOException("第" + line + "行數值過大: " + text);
+                }
+                value = value * 10 + (c - '0');
+                i++;
+            }
+            if (i == start) {
+                throw new IOException("第" + line + "行欄位不足: " + text);
+            }
+            cursor = i + 1;
+            return value;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    private static final class CsvWriter implements RowWriter {
+        private final Writer writer;
+
+        CsvWriter(OutputStream out) throws IOException {
+            writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+            writer.write(csvHeader());
+            writer.write('\n');
+        }
+
+        @Override
+        public void write(long batterId, int[] pitches, int[] hits) throws IOException {
+            checkRow(batterId, pitches, hits);
+            StringBuilder row = new StringBuilder(160).append(batterId);
+            for (int z = 0; z < Zone.COUNT; z++) {
+                row.append(',').append(pitches[z]);
+            }
+            for (int z = 0; z < Zone.COUNT; z++) {
+                row.append(',').append(hits[z]);
+            }
+            writer.append(row).write('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    private static final class BinaryReader implements RowReader {
+        private final InputStream in;
+        private final byte[] row = new byte[ROW_BYTES];
+        private final ByteBuffer buffer = ByteBuffer.wrap(row);
+        private long rows;
+        private long batterId;
+
+        BinaryReader(InputStream in) throws IOException {
+            this.in = new BufferedInputStream(in, BUFFER_SIZE);
+            DataInputStream header = new DataInputStream(this.in);
+            if (header.readInt() != MAGIC) {
+                throw new IOException("不是聯盟數據二進位檔");
+            }
+            int version = header.readInt();
+            if (version != VERSION) {
+                throw new IOException("不支援的版本: " + version);
+            }
+        }
+
+        @Override
+        public boolean next(int[] pitches, int[] hits) throws IOException {
+            int read = in.readNBytes(row, 0, ROW_BYTES);
+            if (read == 0) {
+                return false;
+            }
+            rows++;
+            if (read < ROW_BYTES) {
+                throw new IOException("檔案不完整");
+            }
+            batterId = buffer.getLong(0);
+            if (batterId < 0) {
+                throw new IOException("第" + rows + "列打者編號無效: " + batterId);
+            }
+            for (int z = 0; z < Zone.COUNT; z++) {
+                pitches[z] = buffer.getInt(Long.BYTES + z * Integer.BYTES);
+                hits[z] = buffer.getInt(Long.BYTES + (Zone.COUNT + z) * Integer.BYTES);
+                if (pitches[z] < 0 || hits[z] < 0) {
+                    throw new IOException("第" + rows + "列數值無效");
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public long batterId() {
+            return batterId;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    private static final class BinaryWriter implements RowWriter {
+        private final OutputStream out;
+        private final byte[] row = new byte[ROW_BYTES];
+        private final ByteBuffer buffer = ByteBuffer.wrap(row);
+
+        BinaryWriter(OutputStream out) throws IOException {
+            this.out = new BufferedOutputStream(out, BUFFER_SIZE);
+            DataOutputStream header = new DataOutputStream(this.out);
+            header.writeInt(MAGIC);
+            header.writeInt(VERSION);
+        }
+
+        @Override
+        public void write(long batterId, int[] pitches, int[] hits) throws IOException {
+            checkRow(batterId, pitches, hits);
+            // 整列組好後一次寫入
+            buffer.putLong(0, batterId);
+            for (int z = 0; z < Zone.COUNT; z++) {
+                buffer.putInt(Long.BYTES + z * Integer.BYTES, pitches[z]);
+                buffer.putInt(Long.BYTES + (Zone.COUNT + z) * Integer.BYTES, hits[z]);
+            }
+            out.write(row);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+}
@@ -1,17 +1,240 @@
 package org.example;
 
-//TIP To <b>Run</b> code, press <shortcut actionId="Run"/> or
-// click the <icon src="AllIcons.Actions.Execute"/> icon in the gutter.
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Map;
+
+/**
+ * 命令列批次工具：讀取聯盟打者數據，為每位打者產生投球建議
+ * 用法：Main [選項] &lt;輸入檔|-&gt; [輸出檔|-]
+ * 輸入或輸出為 - 時使用標準輸入輸出，可串接管線；處理量與記憶體峰值輸出到標準錯誤
+ * 指定 --hits 時輸入改為 pitch_breakdown.csv 格式 (zone,count) 的單一打者投球數，輸出編號為0
+ * 結束碼：0 成功，1 讀寫或資料錯誤，2 選項錯誤
+ */
 public class Main {
+
+    private static final String USAGE = String.join("\n",
+            "用法: Main [選項] <輸入檔|-> [輸出檔|-]",
+            "  --threads N               計算用的執行緒數，預設為 CPU 核心數",
+            "  --format csv|binary       輸出格式，預設依輸出副檔名，標準輸出為 csv",
+            "  --input-format csv|binary 輸入格式，預設依輸入副檔名，標準輸入為 csv",
+            "  --chunk N                 每個區塊的打者數量，預設 " + BatchRecommender.DEFAULT_CHUNK_SIZE,
+            "  --hits FILE               輸入為 zone,count 格式的投球數 (如 pitch_breakdown.csv)，",
+            "                            FILE 為同格式的安打數 (如 base_hits_breakdown.csv)，輸出單一打者",
+            "輸入檔由 SyntheticLeagueGenerator 或 LeagueData 產生，副檔名 .bin 為二進位格式");
+
     public static void main(String[] args) {
-        //TIP Press <shortcut actionId="ShowIntentionActions"/> with your caret at the highlighted text
-        // to see how IntelliJ IDEA suggests fixing it.
-        System.out.printf("Hello and welcome!");
+        int status = run(args, System.in, System.out, System.err);
+        System.out.flush();
+        if (status != 0) {
+            System.exit(status);
+        }
+    }
+
+    /**
+     * 執行命令列工具，不呼叫 System.exit
+     * @param args 命令列參數
+     * @param stdin 輸入為 - 時讀取的串流，不會被關閉
+     * @param stdout 輸出為 - 時寫入的串流，完成時排清但不關閉
+     * @param stderr 錯誤訊息與處理量的輸出
+     * @return 結束碼
+     */
+    static int run(String[] args, InputStream stdin, PrintStream stdout, PrintStream stderr) {
+        Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException e) {
+            stderr.println(e.getMessage());
+            stderr.println(USAGE);
+            return 2;
+        }
+        try {
+            run(options, stdin, stdout, stderr);
+            return 0;
+        } catch (IOException | IllegalArgumentException e) {
+            stderr.println("處理失敗: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    static void run(Options options, InputStream stdin, PrintStream stdout, PrintStream stderr) throws IOException {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            pool.resetPeakUsage();
+        }
+        InputStream in = "-".equals(options.input) ? unclosed(stdin) : Files.newInputStream(Paths.get(options.input));
+        LeagueData.Format inputFormat = options.inputFormat;
+        if (options.hits != null) {
+            in = breakdown(in, Files.newInputStream(Paths.get(options.hits)));
+            inputFormat = LeagueData.Format.CSV;
+        }
+        OutputStream out = "-".equals(options.output) ? unclosed(stdout) : Files.newOutputStream(Paths.get(options.output));
+
+        long start = System.nanoTime();
+        long count = new BatchRecommender(options.threads, options.chunkSize)
+                .run(in, inputFormat, out, options.outputFormat);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        stderr.printf("已處理 %d 位打者，%.2f 秒，%.0f 位/秒，%d 條執行緒%n",
+                count, seconds, count / Math.max(seconds, 1e-9), options.threads);
+        stderr.printf("堆積記憶體峰值: %.1f MB%n", peakHeapBytes() / (1024.0 * 1024.0));
+    }
+
+    // 將 zone,count 格式的投球數與安打數轉成只有編號0一列的聯盟 CSV，沒有列出的區域為0
+    private static InputStream breakdown(InputStream pitchesIn, InputStream hitsIn) throws IOException {
+        Map<String, Integer> pitchBreakdown;
+        Map<String, Integer> hitsBreakdown;
+        try (InputStream p = pitchesIn; InputStream h = hitsIn) {
+            pitchBreakdown = PitchStrategy.parseZoneCsv(p);
+            hitsBreakdown = PitchStrategy.parseZoneCsv(h);
+        }
+        int[] pitches = new int[Zone.COUNT];
+        int[] hits = new int[Zone.COUNT];
+        for (Zone zone : Zone.values()) {
+            pitches[zone.ordinal()] = pitchBreakdown.getOrDefault(zone.id(), 0);
+            hits[zone.ordinal()] = hitsBreakdown.getOrDefault(zone.id(), 0);
+        }
+        ByteArrayOutputStream league = new ByteArrayOutputStream();
+        try (LeagueData.RowWriter writer = LeagueData.writer(league, LeagueData.Format.CSV)) {
+            writer.write(0, pitches, hits);
+        }
+        return new ByteArrayInputStream(league.toByteArray());
+    }
+
+    // 標準輸入輸出屬於呼叫端，BatchRecommender 結束時關閉的只是包裝，輸出只排清
+    private static InputStream unclosed(InputStream in) {
+        return new FilterInputStream(in) {
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    private static OutputStream unclosed(OutputStream out) {
+        return new FilterOutputStream(out) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+    }
+
+    // 各堆積記憶體區的峰值總和，為上限估計
+    private static long peakHeapBytes() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.getPeakUsage() != null) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    /**
+     * 命令列選項
+     */
+    static final class Options {
+        String input;
+        String output = "-";
+        int threads = Runtime.getRuntime().availableProcessors();
+        int chunkSize = BatchRecommender.DEFAULT_CHUNK_SIZE;
+        String hits;
+        LeagueData.Format inputFormat;
+        LeagueData.Format outputFormat;
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            int positional = 0;
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                switch (arg) {
+                    case "--threads":
+                        options.threads = parsePositive(arg, value(args, ++i, arg));
+                        break;
+                    case "--chunk":
+                        options.chunkSize = parsePositive(arg, value(args, ++i, arg));
+                        break;
+                    case "--format":
+                        options.outputFormat = parseFormat(value(args, ++i, arg));
+                        break;
+                    case "--input-format":
+                        options.inputFormat = parseFormat(value(args, ++i, arg));
+                        break;
+                    case "--hits":
+                        options.hits = value(args, ++i, arg);
+                        break;
+                    default:
+                        if (arg.startsWith("--")) {
+                            throw new IllegalArgumentException("未知的選項: " + arg);
+                        }
+                        if (positional == 0) {
+                            options.input = arg;
+                        } else if (positional == 1) {
+                            options.output = arg;
+                        } else {
+                            throw new IllegalArgumentException("多餘的參數: " + arg);
+                        }
+                        positional++;
+                }
+            }
+            if (options.input == null) {
+                throw new IllegalArgumentException("缺少輸入檔");
+            }
+            if (options.hits != null && options.inputFormat != null) {
+                throw new IllegalArgumentException("--hits 不可與 --input-format 同時使用");
+            }
+            if (options.inputFormat == null) {
+                options.inputFormat = LeagueData.Format.fromFileName(options.input);
+            }
+            if (options.outputFormat == null) {
+                options.outputFormat = LeagueData.Format.fromFileName(options.output);
+            }
+            return options;
+        }
+
+        private static String value(String[] args, int index, String option) {
+            if (index >= args.length) {
+                throw new IllegalArgumentException(option + " 缺少參數值");
+            }
+            return args[index];
+        }
+
+        private static int parsePositive(String option, String value) {
+            try {
+                int number = Integer.parseInt(value);
+                if (number > 0) {
+                    return number;
+                }
+            } catch (NumberFormatException e) {
+                // 與非正數相同處理
+            }
+            throw new IllegalArgumentException(option + " 必須是正整數: " + value);
+        }
 
-        for (int i = 1; i <= 5; i++) {
-            //TIP Press <shortcut actionId="Debug"/> to start debugging your code. We have set one <icon src="AllIcons.Debugger.Db_set_breakpoint"/> breakpoint
-            // for you, but you can always add more by pressing <shortcut actionId="ToggleLineBreakpoint"/>.
-            System.out.println("i = " + i);
+        private static LeagueData.Format parseFormat(String value) {
+            switch (value) {
+                case "csv":
+                    return LeagueData.Format.CSV;
+                case "binary":
+                    return LeagueData.Format.BINARY;
+                default:
+                    throw new IllegalArgumentException("不支援的格式: " + value);
+            }
         }
     }
-}
\ No newline at end of file
+}
@@ -1,12 +1,50 @@
 package org.example;
 
+import java.util.Objects;
+
 /**
  * 表示投球建議的結果
  * 包含起始區域（視覺欺騙位置）和終點區域（實際落點）
+ * 13x13 共169種組合在類別載入時預先建立，of 工廠方法直接回傳共用實例，不需重複驗證
  */
 public class PitchResult {
+
+    /**
+     * 投球軌跡分類
+     */
+    public enum Trajectory {
+        STRAIGHT("直線球"),
+        OUT_OF_ZONE("出好球帶"),
+        INTO_ZONE("進好球帶"),
+        BREAKING("變化球");
+
+        private final String description;
+
+        Trajectory(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    // 依 起始序數 * 13 + 終點序數 排列的共用實例
+    private static final PitchResult[] CANONICAL = new PitchResult[Zone.COUNT * Zone.COUNT];
+
+    static {
+        for (int s = 0; s < Zone.COUNT; s++) {
+            for (int e = 0; e < Zone.COUNT; e++) {
+                CANONICAL[s * Zone.COUNT + e] = new PitchResult(Zone.of(s), Zone.of(e));
+            }
+        }
+    }
+
     private final String startZone;  // 投球起始區域
     private final String endZone;    // 投球終點區域
+    private final Zone start;
+    private final Zone end;
+    private final Trajectory trajectory;
 
     /**
      * 建構子
@@ -14,12 +52,71 @@ public class PitchResult {
      * @param endZone 終點區域
      */
     public PitchResult(String startZone, String endZone) {
-        // 驗證區域有效性
-        if (!isValidZone(startZone) || !isValidZone(endZone)) {
+        this(requireZone(startZone), requireZone(endZone));
+    }
+
+    // 區域已知有效，不需驗證
+    private PitchResult(Zone start, Zone end) {
+        this.startZone = start.id();
+        this.endZone = end.id();
+        this.start = start;
+        this.end = end;
+        this.trajectory = classify(start, end);
+    }
+
+    /**
+     * 取得共用的投球結果實例
+     * @param start 起始區域
+     * @param end 終點區域
+     * @return 投球結果
+     */
+    public static PitchResult of(Zone start, Zone end) {
+        return CANONICAL[start.ordinal() * Zone.COUNT + end.ordinal()];
+    }
+
+    /**
+     * 依區域序數取得共用的投球結果實例
+     * @param startOrdinal 起始區域序數
+     * @param endOrdinal 終點區域序數
+     * @return 投球結果
+     * @throws IndexOutOfBoundsException 序數不在0到12之間
+     */
+    public static PitchResult of(int startOrdinal, int endOrdinal) {
+        Objects.checkIndex(startOrdinal, Zone.COUNT);
+        Objects.checkIndex(endOrdinal, Zone.COUNT);
+        return CANONICAL[startOrdinal * Zone.COUNT + endOrdinal];
+    }
+
+    /**
+     * 依區域標識取得共用的投球結果實例
+     * @param startZone 起始區域
+     * @param endZone 終點區域
+     * @return 投球結果
+     */
+    public static PitchResult of(String startZone, String endZone) {
+        return of(requireZone(startZone), requireZone(endZone));
+    }
+
+    // 驗證區域有效性
+    private static Zone requireZone(String zone) {
+        Zone result = Zone.fromId(zone);
+        if (result == null) {
             throw new IllegalArgumentException("無效的區域標識");
         }
-        this.startZone = startZone;
-        this.endZone = endZone;
+        return result;
+    }
+
+    private static Trajectory classify(Zone start, Zone end) {
+        if (start == end) {
+            return Trajectory.STRAIGHT;
+        }
+        if (start.isStrike() && !end.isStrike()) {
+            return Trajectory.OUT_OF_ZONE;
+        }
+        if (!start.isStrike() && end.isStrike()) {
+            return Trajectory.INTO_ZONE;
+        }
+        return Trajectory.BREAKING;
     }
 
     /**
@@ -39,20 +136,27 @@ public class PitchResult {
     }
 
     /**
-     * 檢查是否為有效區域標識
-     * @param zone 區域標識
-     * @return 是否有效
+     * 取得起始區域
+     * @return 起始區域
      */
-    private boolean isValidZone(String zone) {
-        if (zone == null || zone.isEmpty()) {
-            return false;
-        }
-        // 檢查壞球區域 (x1-x4)
-        if (zone.startsWith("x")) {
-            return zone.matches("x[1-4]");
-        }
-        // 檢查好球區域 (1-9)
-        return zone.matches("[1-9]");
+    public Zone getStart() {
+        return start;
+    }
+
+    /**
+     * 取得終點區域
+     * @return 終點區域
+     */
+    public Zone getEnd() {
+        return end;
+    }
+
+    /**
+     * 終點是否在好球區
+     * @return 是否為好球
+     */
+    public boolean isEndInStrikeZone() {
+        return end.isStrike();
     }
 
     /**
@@ -61,7 +165,8 @@ public class PitchResult {
      * @return 是否為好球區
      */
     public boolean isStrikeZone(String zone) {
-        return isValidZone(zone) && !zone.startsWith("x");
+        Zone z = Zone.fromId(zone);
+        return z != null && z.isStrike();
     }
 
     @Override
@@ -69,7 +174,7 @@ public class PitchResult {
         if (this == obj) return true;
         if (obj == null || getClass() != obj.getClass()) return false;
         PitchResult that = (PitchResult) obj;
-        return startZone.equals(that.startZone) && endZone.equals(that.endZone);
+        return start == that.start && end == that.end;
     }
 
     @Override
@@ -83,20 +188,19 @@ public class PitchResult {
         return String.format("(%s, %s)", startZone, endZone);
     }
 
+    /**
+     * 取得投球軌跡分類
+     * @return 投球軌跡分類
+     */
+    public Trajectory getTrajectory() {
+        return trajectory;
+    }
+
     /**
      * 取得投球軌跡描述
      * @return 投球軌跡的描述字串
      */
     public String getTrajectoryDescription() {
-        if (startZone.equals(endZone)) {
-            return "直線球";
-        }
-        if (isStrikeZone(startZone) && !isStrikeZone(endZone)) {
-            return "出好球帶";
-        }
-        if (!isStrikeZone(startZone) && isStrikeZone(endZone)) {
-            return "進好球帶";
-        }
-        return "變化球";
+        return trajectory.getDescription();
     }
 }
\ No newline at end of file
@@ -0,0 +1,260 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 多球配球規劃器
+ * 只規劃球種順序：候選動作為每個球種在 getPitchByType 的好球與壞球版本，
+ * 起始區域一律是 getPitchByType 給的5號區，不搜尋其他起始位置；模型只使用終點區域與球速，
+ * 依打者分區打擊率與球數狀態搜尋未來數球的配球順序，目標為最大化三振機率
+ * 搜尋使用以 (球數, 上一球的動作, 剩餘深度) 為鍵的置換表記憶結果，動作已決定球種與終點，
+ * 因此鍵足以區分模型中的所有狀態；並以安打機率上界剪枝，
+ * 逐層加深直到達到最大深度或超過時間預算，同一打者連續規劃時沿用置換表
+ * 非執行緒安全，每個執行緒應使用各自的規劃器
+ */
+public class PitchSequencePlanner {
+
+    /**
+     * 規劃中的單一球
+     * @param type 球種
+     * @param result getPitchByType 的起始與終點區域，起始區域固定為5號區
+     * @param balls 投球前的壞球數
+     * @param strikes 投球前的好球數
+     */
+    public record PlannedPitch(PitchType type, PitchResult result, int balls, int strikes) {
+    }
+
+    private static final double CHASE_BASE = 0.25;           // 壞球區的基本揮棒率
+    private static final double CHASE_PER_KPH = 0.01;        // 與上一球速差每 1 KPH 增加的揮棒率
+    private static final double CHASE_SETUP_MAX = 0.25;      // 速差造成的揮棒率上限
+    private static final double REPEAT_HIT_FACTOR = 1.2;     // 連續同一組合時打者較易掌握時機
+
+    /** 最大規劃深度 */
+    public static final int MAX_DEPTH = 8;
+
+    // 各球數在搜尋邊界的三振機率估計，[壞球][好球]
+    private static final double[][] COUNT_VALUE = {
+            {0.22, 0.27, 0.44},
+            {0.19, 0.24, 0.40},
+            {0.15, 0.20, 0.36},
+            {0.10, 0.14, 0.30}
+    };
+
+    private final PitchType[] actionTypes;    // 每個動作的球種
+    private final PitchResult[] actionResults; // 每個動作的起終點
+    private final int[] actionEnd;            // 每個動作的終點區域序數
+
+    // 置換表只保存完整搜尋的結果，與根節點無關，可在同一打者的多次規劃間共用
+    private final double[] memo;
+    private final int[] bestAction;
+    private Batter memoBatter;
+
+    // 單次規劃的搜尋狀態
+    private double[] averages;
+    private int iterationDepth;
+    private long startNanos;
+    private long budgetNanos;
+    private boolean timedOut;
+
+    /**
+     * 建構子
+     * @param pitchTypes 可用球種，通常來自 pitch_types.csv
+     */
+    public PitchSequencePlanner(List<PitchType> pitchTypes) {
+        if (pitchTypes == null || pitchTypes.isEmpty()) {
+            throw new IllegalArgumentException("球種資料不能為空");
+        }
+        List<PitchType> types = new ArrayList<>();
+        List<PitchResult> results = new ArrayList<>();
+        for (PitchType type : pitchTypes) {
+            // 同一球種的好球與壞球版本，落點相同時只保留一個
+            Set<PitchResult> variants = new LinkedHashSet<>();
+            variants.add(PitchStrategy.getPitchByType(type.getName(), false));
+            variants.add(PitchStrategy.getPitchByType(type.getName(), true));
+            for (PitchResult result : variants) {
+                types.add(type);
+                results.add(result);
+            }
+        }
+        actionTypes = types.toArray(new PitchType[0]);
+        actionResults = results.toArray(new PitchResult[0]);
+        actionEnd = new int[actionResults.length];
+        for (int a = 0; a < actionResults.length; a++) {
+            actionEnd[a] = actionResults[a].getEnd().ordinal();
+        }
+        memo = new double[12 * (actionResults.length + 1) * (MAX_DEPTH + 1)];
+        bestAction = new int[memo.length];
+    }
+
+    /**
+     * 規劃配球順序
+     * 後續每一球假設出現機率最高的非結束結果 (好球或壞球)
+     * @param batter 打者資料
+     * @param balls 目前壞球數 (0-3)
+     * @param strikes 目前好球數 (0-2)
+     * @param depth 最多規劃的球數 (1 至 MAX_DEPTH)
+     * @param budgetNanos 搜尋時間預算 (奈秒)
+     * @return 規劃的配球順序，至少包含一球
+     */
+    public List<PlannedPitch> plan(Batter batter, int balls, int strikes, int depth, long budgetNanos) {
+        if (balls < 0 || balls > 3 || strikes < 0 || strikes > 2) {
+            throw new IllegalArgumentException("無效的球數: " + balls + "-" + strikes);
+        }
+        if (depth < 1 || depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("規劃深度必須介於1到" + MAX_DEPTH + "之間");
+        }
+        if (batter != memoBatter) {
+            averages = zoneAverages(batter);
+            Arrays.fill(memo, Double.NaN);
+            memoBatter = batter;
+        }
+        // 以經過時間比較，預算很大 (如 Long.MAX_VALUE) 時不會溢位
+        this.startNanos = System.nanoTime();
+        this.budgetNanos = budgetNanos;
+
+        int[] completed = null;
+        for (int d = 1; d <= depth; d++) {
+            iterationDepth = d;
+            timedOut = false;
+            search(balls, strikes, -1, d);
+            // 第一層不檢查時間一定完成，之後超過預算就採用上一層的結果
+            if (timedOut) {
+                break;
+            }
+            completed = principalVariation(balls, strikes, d);
+        }
+
+        List<PlannedPitch> plan = new ArrayList<>();
+        int prev = -1;
+        for (int action : completed) {
+            plan.add(new PlannedPitch(actionTypes[action], actionResults[action], balls, strikes));
+            if (likelyStrike(action, prev)) {
+                strikes++;
+            } else {
+                balls++;
+            }
+            prev = action;
+        }
+        return plan;
+    }
+
+    // 期望三振機率，並記錄最佳動作
+    private double search(int balls, int strikes, int prev, int depth) {
+        if (strikes == 3) {
+            return 1.0;
+        }
+        if (balls == 4) {
+            return 0.0;
+        }
+        if (depth == 0) {
+            return COUNT_VALUE[balls][strikes];
+        }
+        int key = key(balls, strikes, prev, depth);
+        if (!Double.isNaN(memo[key])) {
+            return memo[key];
+        }
+        if (iterationDepth > 1 && System.nanoTime() - startNanos > budgetNanos) {
+            timedOut = true;
+            return COUNT_VALUE[balls][strikes];
+        }
+
+        double best = -1.0;
+        int bestA = 0;
+        for (int a = 0; a < actionResults.length; a++) {
+            double hit = hitProbability(a, prev);
+            // 安打價值為0，其餘結果價值不超過1，因此 1 - 安打機率 是此動作的上界
+            if (1.0 - hit <= best) {
+                continue;
+            }
+            double strike = strikeProbability(a, prev);
+            double ball = 1.0 - hit - strike;
+            double value = strike * search(balls, strikes + 1, a, depth - 1);
+            if (ball > 0) {
+                value += ball * search(balls + 1, strikes, a, depth - 1);
+            }
+            if (value > best) {
+                best = value;
+                bestA = a;
+            }
+        }
+        if (!timedOut) {
+            memo[key] = best;
+            bestAction[key] = bestA;
+        }
+        return best;
+    }
+
+    private int[] principalVariation(int balls, int strikes, int depth) {
+        int[] line = new int[depth];
+        int length = 0;
+        int prev = -1;
+        while (depth > 0 && balls < 4 && strikes < 3) {
+            int key = key(balls, strikes, prev, depth);
+            if (Double.isNaN(memo[key])) {
+                break;
+            }
+            int action = bestAction[key];
+            line[length++] = action;
+            if (likelyStrike(action, prev)) {
+                strikes++;
+            } else {
+                balls++;
+            }
+            prev = action;
+            depth--;
+        }
+        return Arrays.copyOf(line, length);
+    }
+
+    private int key(int balls, int strikes, int prev, int depth) {
+        return ((balls * 3 + strikes) * (actionResults.length + 1) + prev + 1) * (MAX_DEPTH + 1) + depth;
+    }
+
+    // 規劃路線假設出現機率較高的結果
+    private boolean likelyStrike(int action, int prev) {
+        return strikeProbability(action, prev) >= ballProbability(action, prev);
+    }
+
+    private double chaseProbability(int action, int prev) {
+        if (Zone.of(actionEnd[action]).isStrike()) {
+            return 1.0;
+        }
+        double chase = CHASE_BASE;
+        if (prev >= 0 && Zone.of(actionEnd[prev]).isStrike()) {
+            int speedGap = Math.abs(actionTypes[prev].getAverageSpeed() - actionTypes[action].getAverageSpeed());
+            chase += Math.min(CHASE_SETUP_MAX, speedGap * CHASE_PER_KPH);
+        }
+        return chase;
+    }
+
+    private double hitProbability(int action, int prev) {
+        double hit = averages[actionEnd[action]];
+        if (action == prev) {
+            hit = Math.min(1.0, hit * REPEAT_HIT_FACTOR);
+        }
+        return chaseProbability(action, prev) * hit;
+    }
+
+    private double strikeProbability(int action, int prev) {
+        return chaseProbability(action, prev) - hitProbability(action, prev);
+    }
+
+    private double ballProbability(int action, int prev) {
+        return 1.0 - chaseProbability(action, prev);
+    }
+
+    // 沒有數據的區域以整體打擊率代替，避免被誤判為無法擊中
+    private static double[] zoneAverages(Batter batter) {
+        double[] result = new double[Zone.COUNT];
+        double overall = batter.getOverallBattingAverage();
+        for (int z = 0; z < Zone.COUNT; z++) {
+            String zone = Zone.of(z).id();
+            result[z] = batter.pitchBreakdown().containsKey(zone) ? batter.getBattingAverage(zone) : overall;
+        }
+        return result;
+    }
+}
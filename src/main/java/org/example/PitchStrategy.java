@@ -4,6 +4,7 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -12,156 +13,112 @@ import java.util.Map;
 public class PitchStrategy {
 
     public static PitchResult pitch(Batter batter, boolean ballIsOK) {
-        Map<String, Double> battingAverages = calculateBattingAverages(batter);
-
-        // 過濾無效區域
-        battingAverages.keySet().removeIf(zone -> !isValidZone(zone));
-
-        // 如果沒有有效數據，返回預設值
-        if (battingAverages.isEmpty()) {
-            return new PitchResult("5", ballIsOK ? "x3" : "1");
-        }
+        // 依區域序數計算打擊率，無效或不存在的區域為 NaN
+        double[] battingAverages = new double[Zone.COUNT];
+        ZoneStats.averages(batter, battingAverages);
 
         // 找出打擊率最高的區域
-        String bestZone = findHighestBattingAverageZone(battingAverages);
+        int bestZone = ZoneStats.argMax(battingAverages, 0, Zone.COUNT);
 
         // 根據是否可以投壞球來決定最終落點
-        String worstZone;
-        if (ballIsOK) {
-            worstZone = findLowestBattingAverageZone(battingAverages);
-        } else {
-            worstZone = findLowestBattingAverageInStrikeZone(battingAverages);
-        }
-
-        return new PitchResult(bestZone, worstZone);
-    }
-
-    private static Map<String, Double> calculateBattingAverages(Batter batter) {
-        Map<String, Double> battingAverages = new HashMap<>();
-        Map<String, Integer> pitches = batter.pitchBreakdown();
-        Map<String, Integer> hits = batter.baseHitsBreakdown();
-
-        for (Map.Entry<String, Integer> entry : pitches.entrySet()) {
-            String zone = entry.getKey();
-            if (!isValidZone(zone)) {
-                continue;
-            }
-            int totalPitches = entry.getValue();
-            int totalHits = hits.getOrDefault(zone, 0);
-            double average = totalPitches > 0 ? (double) totalHits / totalPitches : 0.0;
-            battingAverages.put(zone, average);
-        }
+        int worstZone = ZoneStats.argMin(battingAverages, 0, ballIsOK ? Zone.COUNT : Zone.X1.ordinal());
 
-        return battingAverages;
-    }
-
-    private static String findHighestBattingAverageZone(Map<String, Double> battingAverages) {
-        return battingAverages.entrySet()
-                .stream()
-                .filter(e -> isValidZone(e.getKey()))
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
-                .orElse("5"); // 預設值為5號位置（根據大谷數據）
-    }
-
-    private static String findLowestBattingAverageZone(Map<String, Double> battingAverages) {
-        return battingAverages.entrySet()
-                .stream()
-                .filter(e -> isValidZone(e.getKey()))
-                .min(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
-                .orElse("x3"); // 預設值為x3（根據大谷數據）
-    }
-
-    private static String findLowestBattingAverageInStrikeZone(Map<String, Double> battingAverages) {
-        return battingAverages.entrySet()
-                .stream()
-                .filter(e -> isValidZone(e.getKey()) && !e.getKey().startsWith("x"))
-                .min(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
-                .orElse("1"); // 預設值為1號位置
+        // 沒有數據時的預設值與批次運算共用
+        return ZoneStats.recommendation(bestZone, worstZone, ballIsOK);
     }
 
+    // 有效區域為好球區 1-9 與壞球區 x1-x4
     public static boolean isValidZone(String zone) {
-        if (zone == null || zone.isEmpty()) {
-            return false;
-        }
-        // 檢查壞球區域 (x1-x4)
-        if (zone.startsWith("x")) {
-            return zone.matches("x[1-4]");
-        }
-        // 檢查好球區域 (1-9)
-        return zone.matches("[1-9]");
+        return Zone.fromId(zone) != null;
     }
 
     public static boolean isStrikeZone(String zone) {
-        return isValidZone(zone) && !zone.startsWith("x");
+        Zone z = Zone.fromId(zone);
+        return z != null && z.isStrike();
     }
 
     // 根據球種判斷適合的區域組合
     public static PitchResult getPitchByType(String pitchType, boolean ballIsOK) {
         return switch (pitchType) {
-            case "四縫線快速球" -> new PitchResult("5", "1");
-            case "卡特球" -> new PitchResult("5", ballIsOK ? "x3" : "1");
-            case "伸卡球" -> new PitchResult("5", ballIsOK ? "x2" : "2");
-            case "二縫線快速球" -> new PitchResult("5", "3");
-            case "快指叉球" -> new PitchResult("5", ballIsOK ? "x1" : "1");
-            case "指叉球" -> new PitchResult("5", ballIsOK ? "x4" : "7");
-            case "曲球" -> new PitchResult("5", "2");
-            case "滑球" -> new PitchResult("5", ballIsOK ? "x2" : "3");
-            case "變速球" -> new PitchResult("5", "7");
-            default -> new PitchResult("5", ballIsOK ? "x3" : "1");
+            case "四縫線快速球" -> PitchResult.of(Zone.Z5, Zone.Z1);
+            case "卡特球" -> PitchResult.of(Zone.Z5, ballIsOK ? Zone.X3 : Zone.Z1);
+            case "伸卡球" -> PitchResult.of(Zone.Z5, ballIsOK ? Zone.X2 : Zone.Z2);
+            case "二縫線快速球" -> PitchResult.of(Zone.Z5, Zone.Z3);
+            case "快指叉球" -> PitchResult.of(Zone.Z5, ballIsOK ? Zone.X1 : Zone.Z1);
+            case "指叉球" -> PitchResult.of(Zone.Z5, ballIsOK ? Zone.X4 : Zone.Z7);
+            case "曲球" -> PitchResult.of(Zone.Z5, Zone.Z2);
+            case "滑球" -> PitchResult.of(Zone.Z5, ballIsOK ? Zone.X2 : Zone.Z3);
+            case "變速球" -> PitchResult.of(Zone.Z5, Zone.Z7);
+            default -> PitchResult.of(Zone.Z5, ballIsOK ? Zone.X3 : Zone.Z1);
         };
     }
 
-    // 從CSV檔案讀取數據
+    // 從CSV檔案讀取數據，有建置時產生的常數時直接使用
     public static Map<String, Integer> loadDataFromCsv(String filename) {
-        Map<String, Integer> data = new HashMap<>();
-        try (InputStream is = PitchStrategy.class.getClassLoader().getResourceAsStream(filename);
-             BufferedReader reader = new BufferedReader(new InputStreamReader(is))) {
-
-            // 跳過標題行
-            reader.readLine();
-
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String[] parts = line.split(",");
-                if (parts.length >= 2 && isValidZone(parts[0])) {
-                    data.put(parts[0], Integer.parseInt(parts[1].trim()));
-                }
-            }
+        Map<String, Integer> precompiled = PrecompiledResources.loadZoneData(filename);
+        if (precompiled != null) {
+            return precompiled;
+        }
+        try (InputStream is = PitchStrategy.class.getClassLoader().getResourceAsStream(filename)) {
+            return parseZoneCsv(is);
         } catch (IOException | NullPointerException e) {
             throw new RuntimeException("Error loading data from " + filename, e);
         }
-        return data;
     }
 
-    // 讀取球種資料
+    // 讀取球種資料，有建置時產生的常數時直接使用
     public static List<PitchType> loadPitchTypes(String filename) {
-        List<PitchType> pitchTypes = new ArrayList<>();
-        try (InputStream is = PitchStrategy.class.getClassLoader().getResourceAsStream(filename);
-             BufferedReader reader = new BufferedReader(new InputStreamReader(is))) {
-
-            // 跳過標題行
-            reader.readLine();
-
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String[] parts = line.split(",");
-                if (parts.length >= 5) {
-                    PitchType type = new PitchType(
-                            parts[0].trim(),
-                            Integer.parseInt(parts[1].trim()),
-                            Integer.parseInt(parts[2].trim()),
-                            Integer.parseInt(parts[3].trim()),
-                            Integer.parseInt(parts[4].trim())
-                    );
-                    pitchTypes.add(type);
-                }
-            }
+        List<PitchType> precompiled = PrecompiledResources.loadPitchTypes(filename);
+        if (precompiled != null) {
+            return precompiled;
+        }
+        try (InputStream is = PitchStrategy.class.getClassLoader().getResourceAsStream(filename)) {
+            return parsePitchTypesCsv(is);
         } catch (IOException | NullPointerException e) {
             throw new RuntimeException("Error loading pitch types from " + filename, e);
         }
+    }
+
+    // 解析 zone,count 格式的CSV
+    static Map<String, Integer> parseZoneCsv(InputStream is) throws IOException {
+        Map<String, Integer> data = new HashMap<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8));
+
+        // 跳過標題行
+        reader.readLine();
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String[] parts = line.split(",");
+            if (parts.length >= 2 && isValidZone(parts[0])) {
+                data.put(parts[0], Integer.parseInt(parts[1].trim()));
+            }
+        }
+        return data;
+    }
+
+    // 解析 pitch_types.csv 格式的CSV
+    static List<PitchType> parsePitchTypesCsv(InputStream is) throws IOException {
+        List<PitchType> pitchTypes = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8));
+
+        // 跳過標題行
+        reader.readLine();
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String[] parts = line.split(",");
+            if (parts.length >= 5) {
+                PitchType type = new PitchType(
+                        parts[0].trim(),
+                        Integer.parseInt(parts[1].trim()),
+                        Integer.parseInt(parts[2].trim()),
+                        Integer.parseInt(parts[3].trim()),
+                        Integer.parseInt(parts[4].trim())
+                );
+                pitchTypes.add(type);
+            }
+        }
         return pitchTypes;
     }
-}
\ No newline at end of file
+}
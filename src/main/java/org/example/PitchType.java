@@ -28,6 +28,22 @@ public class PitchType {
         this.maxSpin = maxSpin;
     }
 
+    // 數值已在建置時驗證過，不需再次檢查
+    private PitchType(String name, int minSpeed, int maxSpeed, int minSpin, int maxSpin, boolean validated) {
+        this.name = name;
+        this.minSpeed = minSpeed;
+        this.maxSpeed = maxSpeed;
+        this.minSpin = minSpin;
+        this.maxSpin = maxSpin;
+    }
+
+    /**
+     * 建立已驗證過的球種物件，供預先編譯的資源使用
+     */
+    static PitchType prevalidated(String name, int minSpeed, int maxSpeed, int minSpin, int maxSpin) {
+        return new PitchType(name, minSpeed, maxSpeed, minSpin, maxSpin, true);
+    }
+
     /**
      * 驗證參數有效性
      */
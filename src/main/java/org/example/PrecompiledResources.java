@@ -0,0 +1,43 @@
+package org.example;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 建置時預先編譯的資源
+ * Maven 在 generate-sources 階段以 src/build/java/PrecompiledResourcesGenerator.java 把 CSV 資源轉成
+ * PrecompiledData 的 Java 常數，執行時不讀檔、不解析也不檢查檔案時間
+ * 常數在每次建置時依 src/main/resources 重新產生；建置後才修改 classpath 上的 CSV 時需重新建置，
+ * 或以 -Dpitch.precompiled=false 改讀 CSV
+ * 只使用靜態方法且不保留開啟的檔案，適合 AppCDS 與 CRaC 的檢查點
+ */
+public final class PrecompiledResources {
+
+    /** 停用預先編譯資源的系統屬性，設為 false 時一律讀取 CSV */
+    public static final String PRECOMPILED_PROPERTY = "pitch.precompiled";
+
+    private PrecompiledResources() {
+    }
+
+    /**
+     * 取得預先編譯的區域數據，內容同 PitchStrategy.loadDataFromCsv
+     * @param csvName 原始CSV資源名稱
+     * @return 新的區域數據，沒有預先編譯或已停用時回傳 null
+     */
+    static Map<String, Integer> loadZoneData(String csvName) {
+        return enabled() ? PrecompiledData.zoneData(csvName) : null;
+    }
+
+    /**
+     * 取得預先編譯的球種資料，內容同 PitchStrategy.loadPitchTypes
+     * @param csvName 原始CSV資源名稱
+     * @return 新的球種清單，沒有預先編譯或已停用時回傳 null
+     */
+    static List<PitchType> loadPitchTypes(String csvName) {
+        return enabled() ? PrecompiledData.pitchTypes(csvName) : null;
+    }
+
+    private static boolean enabled() {
+        return Boolean.parseBoolean(System.getProperty(PRECOMPILED_PROPERTY, "true"));
+    }
+}
@@ -0,0 +1,132 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * 投球建議的實體化視圖
+ * 預先保存每位打者在可投壞球與不可投壞球兩種情況下的 PitchStrategy.pitch 結果，
+ * 以及最高打擊率區域與好球區最低打擊率區域，讀取時只需一次陣列查詢
+ * 數據表變更時只標記該打者，refresh 時以 ZoneStats 批次運算重新計算被標記的連續區段
+ * 非執行緒安全
+ */
+public class RecommendationView implements BatterTable.Listener {
+
+    private final BatterTable table;
+    private PitchResult[] ballOkResults = new PitchResult[0];      // ballIsOK = true
+    private PitchResult[] strikeOnlyResults = new PitchResult[0];  // ballIsOK = false
+    private byte[] highestZones = new byte[0];                      // 區域序數，沒有數據時為 -1
+    private byte[] lowestZones = new byte[0];
+    private byte[] lowestStrikeZones = new byte[0];
+    private final BitSet dirty = new BitSet();
+
+    /**
+     * 建構子，既有打者全部標記為待更新
+     * @param table 打者數據表
+     */
+    public RecommendationView(BatterTable table) {
+        this.table = table;
+        ensureCapacity(table.size());
+        dirty.set(0, table.size());
+        table.addListener(this);
+    }
+
+    @Override
+    public void batterAdded(int id) {
+        ensureCapacity(id + 1);
+        dirty.set(id);
+    }
+
+    @Override
+    public void batterUpdated(int id) {
+        dirty.set(id);
+    }
+
+    /**
+     * 取得投球建議
+     * @param id 打者編號
+     * @param ballIsOK 是否可以投壞球
+     * @return 最近一次 refresh 時的建議，尚未計算過則回傳 null
+     */
+    public PitchResult recommendation(int id, boolean ballIsOK) {
+        return ballIsOK ? ballOkResults[id] : strikeOnlyResults[id];
+    }
+
+    /**
+     * 取得最高打擊率的區域，對應 Batter.getHighestAverageZone
+     * @param id 打者編號
+     * @return 最近一次 refresh 時的結果，尚未計算過則回傳 null
+     */
+    public String highestAverageZone(int id) {
+        if (ballOkResults[id] == null) {
+            return null;
+        }
+        return highestZones[id] < 0 ? "5" : Zone.of(highestZones[id]).id();
+    }
+
+    /**
+     * 取得好球區最低打擊率的區域，對應 Batter.getLowestAverageStrikeZone
+     * @param id 打者編號
+     * @return 最近一次 refresh 時的結果，尚未計算過則回傳 null
+     */
+    public String lowestAverageStrikeZone(int id) {
+        if (ballOkResults[id] == null) {
+            return null;
+        }
+        return lowestStrikeZones[id] < 0 ? "1" : Zone.of(lowestStrikeZones[id]).id();
+    }
+
+    /**
+     * 取得待更新的打者數量
+     */
+    public int pendingCount() {
+        return dirty.cardinality();
+    }
+
+    /**
+     * 重新計算所有待更新的打者
+     * @return 重新計算的打者數量
+     */
+    public int refresh() {
+        return refresh(Integer.MAX_VALUE);
+    }
+
+    /**
+     * 重新計算最多 maxBatch 位待更新的打者，其餘保留到下次
+     * @param maxBatch 本次最多處理的打者數量
+     * @return 重新計算的打者數量
+     */
+    public int refresh(int maxBatch) {
+        int refreshed = 0;
+        int from = dirty.nextSetBit(0);
+        while (from >= 0 && refreshed < maxBatch) {
+            // 連續的待更新打者一次交給批次運算
+            int to = (int) Math.min(dirty.nextClearBit(from), (long) from + maxBatch - refreshed);
+            ZoneStats.extremes(table, from, to, highestZones, lowestZones, lowestStrikeZones);
+            for (int id = from; id < to; id++) {
+                materialize(id);
+            }
+            dirty.clear(from, to);
+            refreshed += to - from;
+            from = dirty.nextSetBit(to);
+        }
+        return refreshed;
+    }
+
+    private void materialize(int id) {
+        ballOkResults[id] = ZoneStats.recommendation(highestZones[id], lowestZones[id], true);
+        strikeOnlyResults[id] = ZoneStats.recommendation(highestZones[id], lowestStrikeZones[id], false);
+    }
+
+    private void ensureCapacity(int size) {
+        if (ballOkResults.length >= size) {
+            return;
+        }
+        int capacity = Math.max(size, ballOkResults.length + (ballOkResults.length >> 1));
+        ballOkResults = Arrays.copyOf(ballOkResults, capacity);
+        strikeOnlyResults = Arrays.copyOf(strikeOnlyResults, capacity);
+        highestZones = Arrays.copyOf(highestZones, capacity);
+        lowestZones = Arrays.copyOf(lowestZones, capacity);
+        lowestStrikeZones = Arrays.copyOf(lowestStrikeZones, capacity);
+    }
+}
@@ -0,0 +1,338 @@
+package org.example;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 以記憶體映射檔在同一台主機的多個行程間共享打者數據與投球建議
+ * 一個行程以 create 建立並發布，其他行程以 open 唯讀映射同一個檔案，讀取時不需鎖、序列化或網路
+ * 每位打者佔一個固定大小的槽位，以序號鎖 (seqlock) 保護：寫入前序號變為奇數，寫完後變為下一個偶數，
+ * 讀取端在前後序號相同且為偶數時才採用讀到的內容
+ * 檔案使用本機位元組順序，只適合同一台主機；同時只能有一個發布者
+ * 重新 create 時舊檔案會先標記為已取代再刪除，仍映射舊檔案的讀取端操作時會拋出 IllegalStateException，需重新 open
+ */
+public final class SharedRecommendationStore {
+
+    static final int MAGIC = 0x504C4753;  // "PLGS"
+    static final int VERSION = 1;
+
+    // 檔頭
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int SIZE_OFFSET = 12;
+    private static final int STATE_OFFSET = 16;
+    private static final int SUPERSEDED = 1;
+    static final int HEADER_BYTES = 64;
+
+    // 槽位：序號、建議 (起始、可投壞球終點、只投好球終點各一個 byte)、13個投球數、13個安打數
+    private static final int SEQ_OFFSET = 0;
+    private static final int RECOMMENDATION_OFFSET = 8;
+    private static final int PITCHES_OFFSET = 12;
+    private static final int HITS_OFFSET = PITCHES_OFFSET + Zone.COUNT * Integer.BYTES;
+    static final int SLOT_BYTES = 128;  // 對齊快取行，相鄰槽位的寫入互不干擾
+
+    private static final VarHandle LONG =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    private static final VarHandle INT =
+            MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final double[] averages = new double[Zone.COUNT];  // 發布用的暫存，只有一個發布者
+
+    private SharedRecommendationStore(MappedByteBuffer buffer, int capacity) {
+        this.buffer = buffer;
+        this.capacity = capacity;
+    }
+
+    /**
+     * 建立新的共享檔案並以發布者身分映射，既有檔案會被取代
+     * 既有的共享檔案先標記為已取代再刪除，映射舊檔案的讀取端與發布者之後的操作會失敗，不會繼續讀到過時的內容
+     * @param path 檔案路徑
+     * @param capacity 可容納的打者數量
+     * @return 可發布的共享區
+     */
+    public static SharedRecommendationStore create(Path path, int capacity) throws IOException {
+        if (capacity < 1 || capacity > (Integer.MAX_VALUE - HEADER_BYTES) / SLOT_BYTES) {
+            throw new IllegalArgumentException("無效的容量: " + capacity);
+        }
+        // 先標記舊檔案再刪除並建立新檔，避免截斷其他行程正在映射的檔案
+        supersede(path);
+        Files.deleteIfExists(path);
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + (long) capacity * SLOT_BYTES);
+        }
+        INT.set(buffer, VERSION_OFFSET, VERSION);
+        INT.set(buffer, CAPACITY_OFFSET, capacity);
+        INT.set(buffer, SIZE_OFFSET, 0);
+        // 識別碼最後寫入，讀取端看到識別碼時檔頭已完整
+        INT.setRelease(buffer, MAGIC_OFFSET, MAGIC);
+        return new SharedRecommendationStore(buffer, capacity);
+    }
+
+    /**
+     * 以唯讀方式映射既有的共享檔案
+     * @param path 檔案路徑
+     * @return 唯讀的共享區
+     */
+    public static SharedRecommendationStore open(Path path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException("不是共享建議檔: " + path);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if ((int) INT.getAcquire(buffer, MAGIC_OFFSET) != MAGIC) {
+            throw new IOException("不是共享建議檔: " + path);
+        }
+        int version = (int) INT.get(buffer, VERSION_OFFSET);
+        if (version != VERSION) {
+            throw new IOException("不支援的版本: " + version);
+        }
+        int capacity = (int) INT.get(buffer, CAPACITY_OFFSET);
+        if (capacity < 1 || HEADER_BYTES + (long) capacity * SLOT_BYTES > buffer.capacity()) {
+            throw new IOException("檔案不完整: " + path);
+        }
+        return new SharedRecommendationStore(buffer, capacity);
+    }
+
+    // 在舊檔頭設定已取代旗標，其他行程的映射共用同一份頁面，會看到這個旗標
+    private static void supersede(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (channel.size() < HEADER_BYTES) {
+                return;
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+            if ((int) INT.getAcquire(header, MAGIC_OFFSET) == MAGIC) {
+                INT.setRelease(header, STATE_OFFSET, SUPERSEDED);
+            }
+        }
+    }
+
+    /**
+     * 檔案是否已被新的 create 取代，取代後需重新 open
+     */
+    public boolean isSuperseded() {
+        return (int) INT.getAcquire(buffer, STATE_OFFSET) == SUPERSEDED;
+    }
+
+    /**
+     * 可容納的打者數量
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * 已發布的最大打者編號加一
+     */
+    public int size() {
+        checkCurrent();
+        return (int) INT.getAcquire(buffer, SIZE_OFFSET);
+    }
+
+    /**
+     * 發布打者數據，轉成分區陣列後與其他發布方式使用相同運算，建議與 PitchStrategy.pitch 相同
+     * @param id 打者編號
+     * @param batter 打者資料
+     */
+    public void publish(int id, Batter batter) {
+        int[] pitches = new int[Zone.COUNT];
+        int[] hits = new int[Zone.COUNT];
+        for (Map.Entry<String, Integer> entry : batter.pitchBreakdown().entrySet()) {
+            Zone zone = Zone.fromId(entry.getKey());
+            if (zone != null) {
+                pitches[zone.ordinal()] = entry.getValue();
+                hits[zone.ordinal()] = batter.baseHitsBreakdown().getOrDefault(entry.getKey(), 0);
+            }
+        }
+        publish(id, pitches, hits);
+    }
+
+    /**
+     * 發布數據表中的所有打者，打者編號與數據表相同
+     * 建議以 ZoneStats 批次運算，與 RecommendationView 相同
+     * @param table 打者數據表
+     */
+    public void publishAll(BatterTable table) {
+        checkWritable();
+        if (table.size() > capacity) {
+            throw new IllegalArgumentException("打者數量超過容量: " + table.size());
+        }
+        int batch = Math.min(table.size(), 4096);
+        byte[] highest = new byte[table.size()];
+        byte[] lowest = new byte[table.size()];
+        byte[] lowestStrike = new byte[table.size()];
+        int[] pitches = new int[Zone.COUNT];
+        int[] hits = new int[Zone.COUNT];
+        for (int from = 0; from < table.size(); from += batch) {
+            int to = Math.min(table.size(), from + batch);
+            ZoneStats.extremes(table, from, to, highest, lowest, lowestStrike);
+            for (int id = from; id < to; id++) {
+                for (int z = 0; z < Zone.COUNT; z++) {
+                    pitches[z] = table.pitchColumn(z)[id];
+                    hits[z] = table.hitColumn(z)[id];
+                }
+                write(id, pitches, hits, pack(highest[id], lowest[id], lowestStrike[id]));
+            }
+        }
+    }
+
+    /**
+     * 發布打者的分區數據，建議以 ZoneStats 運算，規則與批次運算相同，只考慮投球數大於0的區域
+     * 重複使用暫存陣列，發布時不配置記憶體
+     * @param id 打者編號
+     * @param pitches 13個區域的投球數
+     * @param hits 13個區域的安打數
+     */
+    public void publish(int id, int[] pitches, int[] hits) {
+        checkWritable();
+        ZoneStats.averages(pitches, hits, averages);
+        write(id, pitches, hits, pack(ZoneStats.argMax(averages, 0, Zone.COUNT),
+                ZoneStats.argMin(averages, 0, Zone.COUNT), ZoneStats.argMin(averages, 0, Zone.X1.ordinal())));
+    }
+
+    /**
+     * 讀取投球建議
+     * @param id 打者編號
+     * @param ballIsOK 是否可以投壞球
+     * @return 最近一次發布的建議，尚未發布則回傳 null
+     */
+    public PitchResult recommendation(int id, boolean ballIsOK) {
+        checkCurrent();
+        int slot = slotOffset(id);
+        while (true) {
+            long seq = (long) LONG.getAcquire(buffer, slot + SEQ_OFFSET);
+            if (seq == 0) {
+                return null;
+            }
+            if ((seq & 1) == 0) {
+                int packed = (int) INT.get(buffer, slot + RECOMMENDATION_OFFSET);
+                VarHandle.loadLoadFence();
+                if ((long) LONG.getOpaque(buffer, slot + SEQ_OFFSET) == seq) {
+                    return PitchResult.of(packed & 0xFF, (packed >>> (ballIsOK ? 8 : 16)) & 0xFF);
+                }
+            }
+            // 發布者在寫入中途結束並重新 create 時，序號會停在奇數，由取代旗標跳出
+            checkCurrent();
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * 讀取打者數據的一致快照
+     * @param id 打者編號
+     * @param pitches 輸出13個區域的投球數
+     * @param hits 輸出13個區域的安打數
+     * @return 發布次數，可用來判斷是否有更新；尚未發布則回傳 0 且不修改輸出
+     */
+    public long read(int id, int[] pitches, int[] hits) {
+        checkCurrent();
+        int slot = slotOffset(id);
+        while (true) {
+            long seq = (long) LONG.getAcquire(buffer, slot + SEQ_OFFSET);
+            if (seq == 0) {
+                return 0;
+            }
+            if ((seq & 1) == 0) {
+                for (int z = 0; z < Zone.COUNT; z++) {
+                    pitches[z] = (int) INT.get(buffer, slot + PITCHES_OFFSET + z * Integer.BYTES);
+                    hits[z] = (int) INT.get(buffer, slot + HITS_OFFSET + z * Integer.BYTES);
+                }
+                VarHandle.loadLoadFence();
+                if ((long) LONG.getOpaque(buffer, slot + SEQ_OFFSET) == seq) {
+                    return seq >>> 1;
+                }
+            }
+            // 發布者在寫入中途結束並重新 create 時，序號會停在奇數，由取代旗標跳出
+            checkCurrent();
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * 讀取打者資料，只包含投球數大於0的區域
+     * @param id 打者編號
+     * @return 打者資料，尚未發布則回傳 null
+     */
+    public Batter batter(int id) {
+        int[] pitches = new int[Zone.COUNT];
+        int[] hits = new int[Zone.COUNT];
+        if (read(id, pitches, hits) == 0) {
+            return null;
+        }
+        Map<String, Integer> pitchBreakdown = new HashMap<>();
+        Map<String, Integer> hitsBreakdown = new HashMap<>();
+        for (int z = 0; z < Zone.COUNT; z++) {
+            if (pitches[z] > 0) {
+                pitchBreakdown.put(Zone.of(z).id(), pitches[z]);
+                hitsBreakdown.put(Zone.of(z).id(), hits[z]);
+            }
+        }
+        return new Batter(pitchBreakdown, hitsBreakdown);
+    }
+
+    private void write(int id, int[] pitches, int[] hits, int packed) {
+        checkWritable();
+        int slot = slotOffset(id);
+        // 只有發布者會修改序號，不需要比較並交換
+        long seq = (long) LONG.getOpaque(buffer, slot + SEQ_OFFSET);
+        LONG.setOpaque(buffer, slot + SEQ_OFFSET, seq + 1);
+        VarHandle.storeStoreFence();
+        INT.set(buffer, slot + RECOMMENDATION_OFFSET, packed);
+        for (int z = 0; z < Zone.COUNT; z++) {
+            INT.set(buffer, slot + PITCHES_OFFSET + z * Integer.BYTES, pitches[z]);
+            INT.set(buffer, slot + HITS_OFFSET + z * Integer.BYTES, hits[z]);
+        }
+        LONG.setRelease(buffer, slot + SEQ_OFFSET, seq + 2);
+        if (id >= (int) INT.getOpaque(buffer, SIZE_OFFSET)) {
+            INT.setRelease(buffer, SIZE_OFFSET, id + 1);
+        }
+    }
+
+    private static int pack(int highest, int lowest, int lowestStrike) {
+        return pack(ZoneStats.recommendation(highest, lowest, true),
+                ZoneStats.recommendation(highest, lowestStrike, false));
+    }
+
+    // 起始區域與兩種終點區域的序數各佔一個位元組
+    private static int pack(PitchResult ballOk, PitchResult strikeOnly) {
+        return ballOk.getStart().ordinal() | ballOk.getEnd().ordinal() << 8 | strikeOnly.getEnd().ordinal() << 16;
+    }
+
+    private int slotOffset(int id) {
+        if (id < 0 || id >= capacity) {
+            throw new IllegalArgumentException("打者編號超出範圍: " + id);
+        }
+        return HEADER_BYTES + id * SLOT_BYTES;
+    }
+
+    private void checkWritable() {
+        if (buffer.isReadOnly()) {
+            throw new IllegalStateException("唯讀映射不能發布");
+        }
+        checkCurrent();
+    }
+
+    private void checkCurrent() {
+        if (isSuperseded()) {
+            throw new IllegalStateException("共享檔已被取代，請重新 open");
+        }
+    }
+}
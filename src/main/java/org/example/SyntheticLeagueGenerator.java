@@ -0,0 +1,198 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 產生可重現的聯盟模擬數據
+ * 每位打者以 (種子, 打者編號) 決定亂數，可依任意順序或平行產生且結果相同
+ * 各區域投球比例參考 pitch_breakdown.csv，打擊率依打者能力與區域位置調整
+ */
+public class SyntheticLeagueGenerator {
+
+    // 各區域投球比例，取自 pitch_breakdown.csv 的分布
+    private static final double[] ZONE_SHARE = {
+            131, 158, 107, 189, 185, 122, 176, 183, 112, 297, 248, 549, 381
+    };
+    // 各區域相對於打者基本打擊率的加成，中間的5號位置最好打
+    private static final double[] ZONE_BONUS = {
+            -0.03, 0.00, -0.01, 0.00, 0.10, 0.01, 0.00, 0.00, -0.01,
+            -0.07, -0.06, -0.09, -0.07
+    };
+    // 模擬追蹤資料時各球種的使用比例，順序同 pitch_types.csv
+    private static final double[] PITCH_MIX = {0.34, 0.08, 0.10, 0.06, 0.04, 0.05, 0.09, 0.16, 0.08};
+
+    private static final double SHARE_TOTAL;
+
+    static {
+        double total = 0;
+        for (double share : ZONE_SHARE) {
+            total += share;
+        }
+        SHARE_TOTAL = total;
+    }
+
+    private final long seed;
+
+    /**
+     * 建構子
+     * @param seed 亂數種子
+     */
+    public SyntheticLeagueGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * 產生指定打者的分區數據
+     * @param batterId 打者編號
+     * @param pitches 輸出13個區域的投球數
+     * @param hits 輸出13個區域的安打數，不會超過投球數
+     */
+    public void fill(long batterId, int[] pitches, int[] hits) {
+        SplittableRandom random = randomFor(batterId);
+        // 總投球數為對數常態分布，中位數約 1100，介於 300 到 3500
+        int total = (int) clamp(Math.exp(7.0 + 0.5 * gaussian(random)), 300, 3500);
+        double talent = 0.11 + gaussian(random) * 0.025;
+        for (int z = 0; z < Zone.COUNT; z++) {
+            double expected = total * ZONE_SHARE[z] / SHARE_TOTAL * (0.75 + random.nextDouble() * 0.5);
+            int p = (int) Math.max(0, Math.round(expected));
+            double average = clamp(talent + ZONE_BONUS[z] + gaussian(random) * 0.02, 0.0, 0.6);
+            // 以常態分布近似二項分布
+            double mean = p * average;
+            double sd = Math.sqrt(p * average * (1 - average));
+            int h = (int) Math.round(clamp(mean + gaussian(random) * sd, 0, p));
+            pitches[z] = p;
+            hits[z] = h;
+        }
+    }
+
+    /**
+     * 產生打者並加入數據表
+     * @param table 目標數據表
+     * @param count 打者數量，編號從0開始
+     */
+    public void generate(BatterTable table, int count) {
+        int[] pitches = new int[Zone.COUNT];
+        int[] hits = new int[Zone.COUNT];
+        for (int i = 0; i < count; i++) {
+            fill(i, pitches, hits);
+            table.add(pitches, hits);
+        }
+    }
+
+    /**
+     * 以串流格式寫出打者數據
+     * @param out 輸出串流，寫完後關閉
+     * @param format 檔案格式
+     * @param count 打者數量，編號從0開始
+     */
+    public void write(OutputStream out, LeagueData.Format format, long count) throws IOException {
+        int[] pitches = new int[Zone.COUNT];
+        int[] hits = new int[Zone.COUNT];
+        try (LeagueData.RowWriter writer = LeagueData.writer(out, format)) {
+            for (long i = 0; i < count; i++) {
+                fill(i, pitches, hits);
+                writer.write(i, pitches, hits);
+            }
+        }
+    }
+
+    /**
+     * 以 pitch_breakdown.csv 與 base_hits_breakdown.csv 的格式寫出單一打者
+     * @param batterId 打者編號
+     * @param pitchOut 投球數輸出
+     * @param hitsOut 安打數輸出
+     */
+    public void writeBreakdownCsv(long batterId, Writer pitchOut, Writer hitsOut) throws IOException {
+        int[] pitches = new int[Zone.COUNT];
+        int[] hits = new int[Zone.COUNT];
+        fill(batterId, pitches, hits);
+        pitchOut.write("zone,count\n");
+        hitsOut.write("zone,hits\n");
+        for (int z = 0; z < Zone.COUNT; z++) {
+            pitchOut.write(Zone.of(z).id() + "," + pitches[z] + "\n");
+            hitsOut.write(Zone.of(z).id() + "," + hits[z] + "\n");
+        }
+    }
+
+    /**
+     * 寫出球種追蹤樣本，每列為 name,speed,spin，數值落在該球種的範圍內
+     * @param out 輸出
+     * @param pitchTypes 球種資料，通常來自 pitch_types.csv
+     * @param samples 樣本數
+     */
+    public void writePitchTracking(Writer out, List<PitchType> pitchTypes, long samples) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed ^ 0x5DEECE66DL);
+        out.write("name,speed,spin\n");
+        StringBuilder row = new StringBuilder();
+        for (long i = 0; i < samples; i++) {
+            PitchType type = pitchTypes.get(pickPitchType(random, pitchTypes.size()));
+            row.setLength(0);
+            row.append(type.getName())
+                    .append(',').append(triangular(random, type.getMinSpeed(), type.getMaxSpeed()))
+                    .append(',').append(triangular(random, type.getMinSpin(), type.getMaxSpin()))
+                    .append('\n');
+            out.append(row);
+        }
+    }
+
+    private SplittableRandom randomFor(long batterId) {
+        // SplitMix64 混合，使相鄰編號的亂數序列互不相關
+        long z = seed + (batterId + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return new SplittableRandom(z ^ (z >>> 31));
+    }
+
+    private static int pickPitchType(SplittableRandom random, int typeCount) {
+        if (typeCount != PITCH_MIX.length) {
+            return random.nextInt(typeCount);
+        }
+        double r = random.nextDouble();
+        for (int i = 0; i < PITCH_MIX.length - 1; i++) {
+            r -= PITCH_MIX[i];
+            if (r < 0) {
+                return i;
+            }
+        }
+        return PITCH_MIX.length - 1;
+    }
+
+    // 中間值附近較多的三角分布
+    private static int triangular(SplittableRandom random, int min, int max) {
+        return (int) Math.round(min + (max - min) * (random.nextDouble() + random.nextDouble()) / 2);
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        // Box-Muller 轉換
+        double u = 1.0 - random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    /**
+     * 命令列產生數據
+     * 用法：SyntheticLeagueGenerator 打者數 輸出檔 [種子]，副檔名 .bin 為二進位格式
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("用法: SyntheticLeagueGenerator <打者數> <輸出檔(.csv|.bin)> [種子]");
+            System.exit(1);
+        }
+        long count = Long.parseLong(args[0]);
+        Path path = Paths.get(args[1]);
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 2024L;
+        new SyntheticLeagueGenerator(seed)
+                .write(Files.newOutputStream(path), LeagueData.Format.fromFileName(path.toString()), count);
+        System.out.printf("已產生 %d 位打者至 %s%n", count, path);
+    }
+}
@@ -0,0 +1,75 @@
+package org.example;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * 使用 JDK Vector API 的批次分區統計
+ * 每個向量通道對應一位打者，逐區域更新最大值與最小值，一次處理多位打者
+ * 需以 --add-modules jdk.incubator.vector 執行，由 ZoneStats 以反射載入
+ */
+final class VectorZoneKernel implements ZoneKernel {
+
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    // 與 DOUBLES 通道數相同的 int 向量，用來載入投球數與安打數
+    private static final VectorSpecies<Integer> INTS =
+            IntVector.SPECIES_PREFERRED.withShape(VectorShape.forBitSize(DOUBLES.vectorBitSize() / 2));
+
+    @Override
+    public void extremes(int[][] pitches, int[][] hits, int from, int to,
+                         byte[] highest, byte[] lowest, byte[] lowestStrike) {
+        int lanes = DOUBLES.length();
+        int strikeZones = Zone.X1.ordinal();
+        double[] buffer = new double[lanes];
+        int i = from;
+        for (; i <= to - lanes; i += lanes) {
+            DoubleVector maxValue = DoubleVector.broadcast(DOUBLES, Double.NEGATIVE_INFINITY);
+            DoubleVector minValue = DoubleVector.broadcast(DOUBLES, Double.POSITIVE_INFINITY);
+            DoubleVector strikeMinValue = minValue;
+            DoubleVector max = DoubleVector.broadcast(DOUBLES, NO_ZONE);
+            DoubleVector min = max;
+            DoubleVector strikeMin = max;
+            for (int z = 0; z < Zone.COUNT; z++) {
+                DoubleVector p = toDoubles(IntVector.fromArray(INTS, pitches[z], i));
+                DoubleVector h = toDoubles(IntVector.fromArray(INTS, hits[z], i));
+                VectorMask<Double> present = p.compare(VectorOperators.GT, 0.0);
+                DoubleVector average = h.div(p);
+                DoubleVector zone = DoubleVector.broadcast(DOUBLES, z);
+
+                VectorMask<Double> higher = present.and(average.compare(VectorOperators.GT, maxValue));
+                maxValue = maxValue.blend(average, higher);
+                max = max.blend(zone, higher);
+
+                VectorMask<Double> lower = present.and(average.compare(VectorOperators.LT, minValue));
+                minValue = minValue.blend(average, lower);
+                min = min.blend(zone, lower);
+
+                if (z < strikeZones) {
+                    VectorMask<Double> strikeLower = present.and(average.compare(VectorOperators.LT, strikeMinValue));
+                    strikeMinValue = strikeMinValue.blend(average, strikeLower);
+                    strikeMin = strikeMin.blend(zone, strikeLower);
+                }
+            }
+            store(max, buffer, highest, i);
+            store(min, buffer, lowest, i);
+            store(strikeMin, buffer, lowestStrike, i);
+        }
+        // 不足一個向量的剩餘打者
+        ZoneStats.scalarExtremes(pitches, hits, i, to, highest, lowest, lowestStrike);
+    }
+
+    private static DoubleVector toDoubles(IntVector values) {
+        return (DoubleVector) values.convertShape(VectorOperators.I2D, DOUBLES, 0);
+    }
+
+    private static void store(DoubleVector zones, double[] buffer, byte[] out, int offset) {
+        zones.intoArray(buffer, 0);
+        for (int lane = 0; lane < buffer.length; lane++) {
+            out[offset + lane] = (byte) buffer[lane];
+        }
+    }
+}
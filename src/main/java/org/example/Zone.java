@@ -0,0 +1,75 @@
+package org.example;
+
+/**
+ * 投球區域
+ * 好球帶 1-9 號與壞球區 x1-x4，共13個區域，序數固定可作為陣列索引
+ */
+public enum Zone {
+    Z1("1"), Z2("2"), Z3("3"),
+    Z4("4"), Z5("5"), Z6("6"),
+    Z7("7"), Z8("8"), Z9("9"),
+    X1("x1"), X2("x2"), X3("x3"), X4("x4");
+
+    /** 區域總數 */
+    public static final int COUNT = 13;
+
+    private static final Zone[] VALUES = values();
+
+    private final String id;  // CSV 與 PitchResult 使用的區域標識
+
+    Zone(String id) {
+        this.id = id;
+    }
+
+    /**
+     * 取得區域標識
+     * @return 區域標識，例如 "5" 或 "x3"
+     */
+    public String id() {
+        return id;
+    }
+
+    /**
+     * 檢查是否為好球區
+     * @return 是否為好球區 (1-9)
+     */
+    public boolean isStrike() {
+        return ordinal() < X1.ordinal();
+    }
+
+    /**
+     * 依序數取得區域
+     * @param ordinal 區域序數 (0-12)
+     * @return 對應區域
+     */
+    public static Zone of(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    /**
+     * 依區域標識取得區域，不使用正規表示式
+     * @param id 區域標識
+     * @return 對應區域，無效標識則回傳 null
+     */
+    public static Zone fromId(String id) {
+        if (id == null) {
+            return null;
+        }
+        return switch (id) {
+            case "1" -> Z1;
+            case "2" -> Z2;
+            case "3" -> Z3;
+            case "4" -> Z4;
+            case "5" -> Z5;
+            case "6" -> Z6;
+            case "7" -> Z7;
+            case "8" -> Z8;
+            case "9" -> Z9;
+            case "x1" -> X1;
+            case "x2" -> X2;
+            case "x3" -> X3;
+            case "x4" -> X4;
+            default -> null;
+        };
+    }
+}
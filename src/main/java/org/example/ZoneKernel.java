@@ -0,0 +1,25 @@
+package org.example;
+
+/**
+ * 批次分區統計運算
+ * 輸入為依區域分欄的投球數與安打數陣列 ([區域][打者])，一次處理一段連續的打者
+ */
+interface ZoneKernel {
+
+    /** 沒有任何符合條件區域時填入的值 */
+    byte NO_ZONE = -1;
+
+    /**
+     * 計算 [from, to) 範圍內每位打者的最高打擊率區域、最低打擊率區域與好球區最低打擊率區域
+     * 只考慮投球數大於0的區域，打擊率相同時取序數較小者
+     * @param pitches 各區域投球數欄位
+     * @param hits 各區域安打數欄位
+     * @param from 起始打者編號 (包含)
+     * @param to 結束打者編號 (不包含)
+     * @param highest 輸出最高打擊率區域序數，以打者編號為索引
+     * @param lowest 輸出最低打擊率區域序數
+     * @param lowestStrike 輸出好球區最低打擊率區域序數
+     */
+    void extremes(int[][] pitches, int[][] hits, int from, int to,
+                  byte[] highest, byte[] lowest, byte[] lowestStrike);
+}
@@ -0,0 +1,384 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * 聯盟分區打擊率查詢引擎
+ * 為每個區域維護依打擊率排序的打者索引，以及依好球區最弱區域分組的打者集合，
+ * 支援 Top-K、百分位數與最弱好球區查詢；最低投球數條件在走訪索引時直接套用，不需先計算所有打者的打擊率 Map
+ * 數據變更會累積為待處理項目，下次查詢時少量變更逐筆插入，超過 INCREMENTAL_LIMIT 筆則整批重建
+ * 非執行緒安全
+ */
+public class ZoneQueryEngine implements BatterTable.Listener {
+
+    private static final byte NO_ZONE = -1;
+    // 逐筆插入每筆需在13個排序陣列中搬移 O(N) 個元素，整批重建約等於 600-1300 筆逐筆更新 (10萬到400萬位打者量測)，
+    // 門檻取固定值並遠低於損益平衡點
+    static final int INCREMENTAL_LIMIT = 64;
+
+    private final BatterTable table;
+    private final double[][] keys = new double[Zone.COUNT][];  // 建立索引時的打擊率快照，[區域][打者]
+    private final int[][] order = new int[Zone.COUNT][];       // 依打擊率由高到低、編號由小到大排序的打者編號
+    private byte[] weakestStrikeZone = new byte[0];             // 每位打者好球區最低打擊率的區域序數
+    private final BitSet[] weakestMembers = new BitSet[Zone.X1.ordinal()];  // [好球區] 最弱區域為該區的打者
+    private final BitSet dirty = new BitSet();                  // 已在索引中但數據有變更的打者
+    private int dirtyCount;
+    private int indexed;                                        // 已進入索引的打者數量
+
+    /**
+     * 建構子，註冊為數據表的監聽者
+     * @param table 打者數據表
+     */
+    public ZoneQueryEngine(BatterTable table) {
+        this.table = table;
+        for (int z = 0; z < Zone.COUNT; z++) {
+            keys[z] = new double[0];
+            order[z] = new int[0];
+        }
+        for (int z = 0; z < weakestMembers.length; z++) {
+            weakestMembers[z] = new BitSet();
+        }
+        table.addListener(this);
+    }
+
+    @Override
+    public void batterAdded(int id) {
+        // 編號大於等於 indexed 的打者會在下次查詢時插入
+    }
+
+    @Override
+    public void batterUpdated(int id) {
+        if (id < indexed && !dirty.get(id)) {
+            dirty.set(id);
+            dirtyCount++;
+        }
+    }
+
+    /**
+     * 取得特定區域打擊率最高的 K 位打者
+     * @param zone 區域
+     * @param k 數量上限
+     * @param minPitches 該區域最低投球數
+     * @return 打者編號，依打擊率由高到低排列
+     */
+    public int[] topK(Zone zone, int k, int minPitches) {
+        ensureIndexed();
+        int z = zone.ordinal();
+        int[] ids = order[z];
+        int[] zonePitches = table.pitchColumn(z);
+        int[] result = new int[Math.min(Math.max(k, 0), indexed)];
+        int found = 0;
+        for (int i = 0; i < indexed && found < result.length; i++) {
+            if (zonePitches[ids[i]] >= minPitches) {
+                result[found++] = ids[i];
+            }
+        }
+        return found == result.length ? result : Arrays.copyOf(result, found);
+    }
+
+    /**
+     * 取得特定區域打擊率最低的 K 位打者
+     * @param zone 區域
+     * @param k 數量上限
+     * @param minPitches 該區域最低投球數
+     * @return 打者編號，依打擊率由低到高排列
+     */
+    public int[] bottomK(Zone zone, int k, int minPitches) {
+        ensureIndexed();
+        int z = zone.ordinal();
+        int[] ids = order[z];
+        int[] zonePitches = table.pitchColumn(z);
+        int[] result = new int[Math.min(Math.max(k, 0), indexed)];
+        int found = 0;
+        for (int i = indexed - 1; i >= 0 && found < result.length; i--) {
+            if (zonePitches[ids[i]] >= minPitches) {
+                result[found++] = ids[i];
+            }
+        }
+        return found == result.length ? result : Arrays.copyOf(result, found);
+    }
+
+    /**
+     * 以最近排名法計算特定區域打擊率的百分位數
+     * minPitches 不大於0時直接由索引位置取值；否則需掃描該區域的投球數欄位計算符合條件的人數，
+     * 再從索引低端走訪到該名次，為 O(N) 查詢
+     * @param zone 區域
+     * @param percentile 百分位 (0-100)
+     * @param minPitches 該區域最低投球數
+     * @return 該百分位的打擊率，沒有符合條件的打者時回傳 NaN
+     */
+    public double percentile(Zone zone, double percentile, int minPitches) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("百分位必須介於0到100之間");
+        }
+        ensureIndexed();
+        int z = zone.ordinal();
+        if (minPitches <= 0) {
+            // 所有打者都符合條件，由低到高的第 rank 位即索引中倒數第 rank 位
+            return indexed == 0 ? Double.NaN : keys[z][order[z][indexed - rank(percentile, indexed)]];
+        }
+        int[] zonePitches = table.pitchColumn(z);
+        int eligible = 0;
+        for (int id = 0; id < indexed; id++) {
+            if (zonePitches[id] >= minPitches) {
+                eligible++;
+            }
+        }
+        if (eligible == 0) {
+            return Double.NaN;
+        }
+        int rank = rank(percentile, eligible);
+        int[] ids = order[z];
+        int seen = 0;
+        for (int i = indexed - 1; i >= 0; i--) {
+            if (zonePitches[ids[i]] >= minPitches && ++seen == rank) {
+                return keys[z][ids[i]];
+            }
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * 取得好球區最低打擊率落在指定區域的打者
+     * 最低投球數同時套用於挑選最弱區域：只比較投球數達到 minPitches 的好球區，
+     * 樣本太少的區域不會成為打者的最弱區域
+     * minPitches 不大於1時直接取自預先分組的打者集合；否則需掃描所有打者，
+     * 預先計算的最弱區域樣本足夠時沿用，只有其餘打者重新挑選，為 O(N) 查詢
+     * @param zone 好球區
+     * @param minPitches 好球區各區域的最低投球數
+     * @return 打者編號，由小到大排列
+     */
+    public int[] withWeakestStrikeZone(Zone zone, int minPitches) {
+        if (!zone.isStrike()) {
+            throw new IllegalArgumentException("必須指定好球區: " + zone.id());
+        }
+        ensureIndexed();
+        int z = zone.ordinal();
+        if (minPitches <= 1) {
+            BitSet members = weakestMembers[z];
+            int[] result = new int[members.cardinality()];
+            int found = 0;
+            for (int id = members.nextSetBit(0); id >= 0; id = members.nextSetBit(id + 1)) {
+                result[found++] = id;
+            }
+            return result;
+        }
+        int[] zonePitches = table.pitchColumn(z);
+        int[] result = new int[16];
+        int found = 0;
+        for (int id = 0; id < indexed; id++) {
+            if (zonePitches[id] < minPitches) {
+                continue;
+            }
+            // 所有好球區中的最弱區域樣本已足夠時，也是樣本足夠的區域中最弱者，不需重新挑選
+            byte weakest = weakestStrikeZone[id];
+            if (weakest == NO_ZONE || table.pitchColumn(weakest)[id] < minPitches) {
+                weakest = computeWeakestStrikeZone(id, minPitches);
+            }
+            if (weakest == z) {
+                if (found == result.length) {
+                    result = Arrays.copyOf(result, found + (found >> 1));
+                }
+                result[found++] = id;
+            }
+        }
+        return Arrays.copyOf(result, found);
+    }
+
+    /**
+     * 取得打者好球區最低打擊率的區域
+     * 只考慮投球數大於0的區域，打擊率相同時取序數較小者
+     * @param id 打者編號
+     * @return 區域，沒有好球區數據時回傳 null
+     */
+    public Zone weakestStrikeZone(int id) {
+        ensureIndexed();
+        if (id < 0 || id >= indexed) {
+            throw new IndexOutOfBoundsException("無效的打者編號: " + id);
+        }
+        byte z = weakestStrikeZone[id];
+        return z == NO_ZONE ? null : Zone.of(z);
+    }
+
+    // 套用所有待處理的變更
+    private void ensureIndexed() {
+        int size = table.size();
+        int pending = dirtyCount + (size - indexed);
+        if (pending == 0) {
+            return;
+        }
+        // 逐筆插入需搬移陣列，變更數量多時整批排序較快
+        if (pending > INCREMENTAL_LIMIT) {
+            rebuild(size);
+            return;
+        }
+        for (int id = dirty.nextSetBit(0); id >= 0; id = dirty.nextSetBit(id + 1)) {
+            for (int z = 0; z < Zone.COUNT; z++) {
+                double key = table.average(id, Zone.of(z));
+                if (Double.compare(key, keys[z][id]) != 0) {
+                    remove(z, id, indexed);
+                    keys[z][id] = key;
+                    insert(z, id, indexed - 1);
+                }
+            }
+            setWeakestStrikeZone(id, computeWeakestStrikeZone(id, 1), true);
+        }
+        dirty.clear();
+        dirtyCount = 0;
+        ensureCapacity(size);
+        while (indexed < size) {
+            int id = indexed;
+            for (int z = 0; z < Zone.COUNT; z++) {
+                keys[z][id] = table.average(id, Zone.of(z));
+                insert(z, id, indexed);
+            }
+            setWeakestStrikeZone(id, computeWeakestStrikeZone(id, 1), false);
+            indexed++;
+        }
+    }
+
+    private void rebuild(int size) {
+        ensureCapacity(size);
+        for (int z = 0; z < Zone.COUNT; z++) {
+            double[] key = keys[z];
+            int[] ids = order[z];
+            for (int id = 0; id < size; id++) {
+                key[id] = table.average(id, Zone.of(z));
+                ids[id] = id;
+            }
+            sort(ids, 0, size - 1, key);
+        }
+        for (BitSet members : weakestMembers) {
+            members.clear();
+        }
+        for (int id = 0; id < size; id++) {
+            setWeakestStrikeZone(id, computeWeakestStrikeZone(id, 1), false);
+        }
+        dirty.clear();
+        dirtyCount = 0;
+        indexed = size;
+    }
+
+    // 更新打者的最弱區域與所屬集合，indexed 表示打者原本已在集合中
+    private void setWeakestStrikeZone(int id, byte zone, boolean indexed) {
+        if (indexed && weakestStrikeZone[id] != NO_ZONE) {
+            weakestMembers[weakestStrikeZone[id]].clear(id);
+        }
+        weakestStrikeZone[id] = zone;
+        if (zone != NO_ZONE) {
+            weakestMembers[zone].set(id);
+        }
+    }
+
+    // 最近排名法：由低到高的第 rank 位 (1 起算)
+    private static int rank(double percentile, int count) {
+        return Math.max(1, (int) Math.ceil(percentile / 100.0 * count));
+    }
+
+    // 只比較投球數至少 minPitches (且大於0) 的好球區
+    private byte computeWeakestStrikeZone(int id, int minPitches) {
+        int threshold = Math.max(minPitches, 1);
+        byte weakest = NO_ZONE;
+        double lowest = Double.POSITIVE_INFINITY;
+        for (int z = 0; z < Zone.X1.ordinal(); z++) {
+            if (table.pitchColumn(z)[id] >= threshold && keys[z][id] < lowest) {
+                lowest = keys[z][id];
+                weakest = (byte) z;
+            }
+        }
+        return weakest;
+    }
+
+    private void ensureCapacity(int size) {
+        if (order[0].length >= size) {
+            return;
+        }
+        int capacity = Math.max(size, order[0].length + (order[0].length >> 1));
+        for (int z = 0; z < Zone.COUNT; z++) {
+            keys[z] = Arrays.copyOf(keys[z], capacity);
+            order[z] = Arrays.copyOf(order[z], capacity);
+        }
+        weakestStrikeZone = Arrays.copyOf(weakestStrikeZone, capacity);
+    }
+
+    // 在 order[z] 的前 n 筆中插入打者，位置依 keys[z][id]
+    private void insert(int z, int id, int n) {
+        int[] ids = order[z];
+        int pos = lowerBound(ids, n, keys[z], keys[z][id], id);
+        System.arraycopy(ids, pos, ids, pos + 1, n - pos);
+        ids[pos] = id;
+    }
+
+    // 從 order[z] 的前 n 筆移除打者，keys[z][id] 必須仍是插入時的值
+    private void remove(int z, int id, int n) {
+        int[] ids = order[z];
+        int pos = lowerBound(ids, n, keys[z], keys[z][id], id);
+        System.arraycopy(ids, pos + 1, ids, pos, n - pos - 1);
+    }
+
+    // 第一個不排在 (key, id) 之前的位置
+    private static int lowerBound(int[] ids, int n, double[] keys, double key, int id) {
+        int lo = 0;
+        int hi = n;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (before(keys, ids[mid], key, id)) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // 打擊率高者在前，相同時編號小者在前
+    private static boolean before(double[] keys, int a, double key, int b) {
+        int c = Double.compare(keys[a], key);
+        return c > 0 || (c == 0 && a < b);
+    }
+
+    // 快速排序，所有元素順序唯一，不會因重複值退化
+    private static void sort(int[] ids, int lo, int hi, double[] keys) {
+        while (hi - lo > 16) {
+            int mid = (lo + hi) >>> 1;
+            if (before(keys, ids[mid], keys[ids[lo]], ids[lo])) swap(ids, lo, mid);
+            if (before(keys, ids[hi], keys[ids[lo]], ids[lo])) swap(ids, lo, hi);
+            if (before(keys, ids[hi], keys[ids[mid]], ids[mid])) swap(ids, mid, hi);
+            int pivot = ids[mid];
+            double pivotKey = keys[pivot];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (before(keys, ids[i], pivotKey, pivot)) i++;
+                while (before(keys, pivot, keys[ids[j]], ids[j])) j--;
+                if (i <= j) {
+                    swap(ids, i++, j--);
+                }
+            }
+            // 先遞迴較短的一邊以限制堆疊深度
+            if (j - lo < hi - i) {
+                sort(ids, lo, j, keys);
+                lo = i;
+            } else {
+                sort(ids, i, hi, keys);
+                hi = j;
+            }
+        }
+        for (int i = lo + 1; i <= hi; i++) {
+            int id = ids[i];
+            int j = i - 1;
+            while (j >= lo && before(keys, id, keys[ids[j]], ids[j])) {
+                ids[j + 1] = ids[j];
+                j--;
+            }
+            ids[j + 1] = id;
+        }
+    }
+
+    private static void swap(int[] ids, int i, int j) {
+        int t = ids[i];
+        ids[i] = ids[j];
+        ids[j] = t;
+    }
+}
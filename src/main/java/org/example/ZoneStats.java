@@ -0,0 +1,189 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * 分區打擊率的基本運算，使用基本型別陣列避免裝箱
+ * 單一打者使用13格的 double 陣列，不存在或投球數為0的區域以 NaN 表示，與 BatterTable 的批次運算規則相同；
+ * 批次運算在執行時有 jdk.incubator.vector 模組時使用 SIMD 版本，否則自動退回純量版本
+ */
+public final class ZoneStats {
+
+    /** 停用 SIMD 版本的系統屬性，設為 false 時一律使用純量版本 */
+    public static final String SIMD_PROPERTY = "pitch.simd";
+
+    static final ZoneKernel SCALAR = ZoneStats::scalarExtremes;
+    static final ZoneKernel VECTOR = loadVectorKernel();
+    private static final ZoneKernel KERNEL = VECTOR != null ? VECTOR : SCALAR;
+
+    private ZoneStats() {
+    }
+
+    /**
+     * 計算打者各區域打擊率
+     * @param batter 打者資料
+     * @param out 長度13的輸出陣列，依區域序數排列，打者沒有該區域數據或投球數為0時為 NaN
+     */
+    public static void averages(Batter batter, double[] out) {
+        Arrays.fill(out, Double.NaN);
+        Map<String, Integer> hits = batter.baseHitsBreakdown();
+        for (Map.Entry<String, Integer> entry : batter.pitchBreakdown().entrySet()) {
+            Zone zone = Zone.fromId(entry.getKey());
+            if (zone == null) {
+                continue;
+            }
+            int pitches = entry.getValue();
+            // 投球數為0視為沒有數據：BatterTable 無法區分兩者，批次運算也一律略過
+            if (pitches > 0) {
+                out[zone.ordinal()] = (double) hits.getOrDefault(entry.getKey(), 0) / pitches;
+            }
+        }
+    }
+
+    /**
+     * 由分區陣列計算各區域打擊率，規則與批次運算相同，不配置記憶體
+     * @param pitches 13個區域的投球數
+     * @param hits 13個區域的安打數
+     * @param out 長度13的輸出陣列，投球數不大於0的區域為 NaN
+     */
+    public static void averages(int[] pitches, int[] hits, double[] out) {
+        for (int z = 0; z < Zone.COUNT; z++) {
+            out[z] = pitches[z] > 0 ? (double) hits[z] / pitches[z] : Double.NaN;
+        }
+    }
+
+    /**
+     * 找出打擊率最高的區域，相同時取序數較小者
+     * @param averages 依區域序數排列的打擊率，NaN 代表不存在
+     * @param from 起始區域序數 (包含)
+     * @param to 結束區域序數 (不包含)
+     * @return 區域序數，沒有數據時回傳 -1
+     */
+    public static int argMax(double[] averages, int from, int to) {
+        int best = -1;
+        double value = Double.NEGATIVE_INFINITY;
+        for (int z = from; z < to; z++) {
+            // NaN 的比較一律為 false，不存在的區域自然被略過
+            if (averages[z] > value) {
+                value = averages[z];
+                best = z;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 找出打擊率最低的區域，相同時取序數較小者
+     * @param averages 依區域序數排列的打擊率，NaN 代表不存在
+     * @param from 起始區域序數 (包含)
+     * @param to 結束區域序數 (不包含)
+     * @return 區域序數，沒有數據時回傳 -1
+     */
+    public static int argMin(double[] averages, int from, int to) {
+        int best = -1;
+        double value = Double.POSITIVE_INFINITY;
+        for (int z = from; z < to; z++) {
+            if (averages[z] < value) {
+                value = averages[z];
+                best = z;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 由打擊率最高與最低的區域組出投球建議，PitchStrategy.pitch 與各批次運算共用此規則
+     * 沒有任何數據時為5號位置到 x3 (可投壞球) 或1號位置；好球區沒有數據時終點為1號位置
+     * @param highest 打擊率最高的區域序數，沒有數據時為 -1
+     * @param lowest 可投壞球時為所有區域、否則為好球區中打擊率最低的區域序數，沒有數據時為 -1
+     * @param ballIsOK 是否可以投壞球
+     * @return 投球建議
+     */
+    public static PitchResult recommendation(int highest, int lowest, boolean ballIsOK) {
+        if (highest < 0) {
+            return PitchResult.of(Zone.Z5, ballIsOK ? Zone.X3 : Zone.Z1);
+        }
+        return PitchResult.of(highest, lowest < 0 ? Zone.Z1.ordinal() : lowest);
+    }
+
+    /**
+     * 批次計算 [from, to) 範圍內每位打者的最高、最低與好球區最低打擊率區域
+     * 只考慮投球數大於0的區域，沒有數據時填入 -1
+     * @param table 打者數據表
+     * @param from 起始打者編號 (包含)
+     * @param to 結束打者編號 (不包含)
+     * @param highest 輸出最高打擊率區域序數，以打者編號為索引
+     * @param lowest 輸出最低打擊率區域序數
+     * @param lowestStrike 輸出好球區最低打擊率區域序數
+     */
+    public static void extremes(BatterTable table, int from, int to,
+                                byte[] highest, byte[] lowest, byte[] lowestStrike) {
+        if (from < 0 || to > table.size() || from > to) {
+            throw new IndexOutOfBoundsException("無效的打者範圍: " + from + "-" + to);
+        }
+        KERNEL.extremes(table.pitchColumns(), table.hitColumns(), from, to, highest, lowest, lowestStrike);
+    }
+
+    // 欄式陣列版本，供不經過 BatterTable 的批次處理使用
+    static void extremes(int[][] pitches, int[][] hits, int from, int to,
+                         byte[] highest, byte[] lowest, byte[] lowestStrike) {
+        KERNEL.extremes(pitches, hits, from, to, highest, lowest, lowestStrike);
+    }
+
+    /**
+     * 是否使用 SIMD 版本
+     */
+    public static boolean isVectorized() {
+        return KERNEL == VECTOR;
+    }
+
+    static void scalarExtremes(int[][] pitches, int[][] hits, int from, int to,
+                               byte[] highest, byte[] lowest, byte[] lowestStrike) {
+        int strikeZones = Zone.X1.ordinal();
+        for (int i = from; i < to; i++) {
+            byte max = ZoneKernel.NO_ZONE;
+            byte min = ZoneKernel.NO_ZONE;
+            byte strikeMin = ZoneKernel.NO_ZONE;
+            double maxValue = Double.NEGATIVE_INFINITY;
+            double minValue = Double.POSITIVE_INFINITY;
+            double strikeMinValue = Double.POSITIVE_INFINITY;
+            for (int z = 0; z < Zone.COUNT; z++) {
+                int p = pitches[z][i];
+                if (p <= 0) {
+                    continue;
+                }
+                double average = (double) hits[z][i] / p;
+                if (average > maxValue) {
+                    maxValue = average;
+                    max = (byte) z;
+                }
+                if (average < minValue) {
+                    minValue = average;
+                    min = (byte) z;
+                }
+                if (z < strikeZones && average < strikeMinValue) {
+                    strikeMinValue = average;
+                    strikeMin = (byte) z;
+                }
+            }
+            highest[i] = max;
+            lowest[i] = min;
+            lowestStrike[i] = strikeMin;
+        }
+    }
+
+    // 執行時未加入 --add-modules jdk.incubator.vector 時類別無法連結，退回純量版本
+    private static ZoneKernel loadVectorKernel() {
+        if (!Boolean.parseBoolean(System.getProperty(SIMD_PROPERTY, "true"))) {
+            return null;
+        }
+        try {
+            return (ZoneKernel) Class.forName("org.example.VectorZoneKernel")
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package org.example;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("多臂拉霸投球策略測試")
+class BanditStrategyTest {
+
+    private static final List<PitchType> PITCH_TYPES = PitchStrategy.loadPitchTypes("pitch_types.csv");
+
+    @Test
+    @DisplayName("測試沒有觀察前 UCB 與 PitchStrategy.pitch 相同")
+    void testUcbStartsFromProfile() {
+        Batter ohtani = new Batter(
+                PitchStrategy.loadDataFromCsv("pitch_breakdown.csv"),
+                PitchStrategy.loadDataFromCsv("base_hits_breakdown.csv"));
+        BatterTable table = new BatterTable();
+        table.add(ohtani);
+        BanditStrategy strategy = new BanditStrategy(table, PITCH_TYPES, BanditStrategy.Mode.UCB);
+
+        assertEquals(PitchStrategy.pitch(ohtani, true), strategy.select(0, true).result());
+        assertEquals(PitchStrategy.pitch(ohtani, false), strategy.select(0, false).result());
+    }
+
+    @Test
+    @DisplayName("測試不能投壞球時只選擇好球帶")
+    void testStrikeOnly() {
+        BatterTable table = new BatterTable();
+        new SyntheticLeagueGenerator(3).generate(table, 20);
+        for (BanditStrategy.Mode mode : BanditStrategy.Mode.values()) {
+            BanditStrategy strategy = new BanditStrategy(table, PITCH_TYPES, mode);
+            for (int i = 0; i < 2000; i++) {
+                int id = i % table.size();
+                BanditStrategy.Selection selection = strategy.select(id, false);
+                assertTrue(selection.result().isEndInStrikeZone(), mode + " " + selection.result());
+                strategy.update(id, selection.arm(), false);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("測試依實際結果學到最難擊出安打的組合")
+    void testLearnsWeakestArm() {
+        // 各區域打擊率相同，只有 7 號位置的第2種球種幾乎打不到
+        int[] pitches = new int[Zone.COUNT];
+        int[] hits = new int[Zone.COUNT];
+        Arrays.fill(pitches, 100);
+        Arrays.fill(hits, 30);
+        BatterTable table = new BatterTable();
+        table.add(pitches, hits);
+        int weakest = Zone.Z7.ordinal() * PITCH_TYPES.size() + 1;
+
+        for (BanditStrategy.Mode mode : BanditStrategy.Mode.values()) {
+            BanditStrategy strategy = new BanditStrategy(table, PITCH_TYPES, mode);
+            // 選擇與模擬結果都使用固定種子，失敗時可以重現
+            Random random = new Random(17);
+            for (int i = 0; i < 20_000; i++) {
+                BanditStrategy.Selection selection = strategy.select(0, true, random);
+                double hitRate = selection.arm() == weakest ? 0.02 : 0.3;
+                strategy.update(0, selection.arm(), random.nextDouble() < hitRate);
+            }
+            assertTrue(strategy.trials(0, weakest) > 10_000, mode + ": " + strategy.trials(0, weakest));
+        }
+    }
+
+    @Test
+    @DisplayName("測試相同種子得到相同的選擇")
+    void testSeededSelectionIsReproducible() {
+        BatterTable table = new BatterTable();
+        new SyntheticLeagueGenerator(6).generate(table, 3);
+        int[][] arms = new int[2][500];
+        for (int run = 0; run < 2; run++) {
+            BanditStrategy strategy = new BanditStrategy(table, PITCH_TYPES, BanditStrategy.Mode.THOMPSON);
+            Random random = new Random(23);
+            for (int i = 0; i < arms[run].length; i++) {
+                BanditStrategy.Selection selection = strategy.select(i % 3, true, random);
+                arms[run][i] = selection.arm();
+                strategy.update(i % 3, selection.arm(), random.nextInt(4) == 0);
+            }
+        }
+        assertArrayEquals(arms[0], arms[1]);
+    }
+
+    @Test
+    @DisplayName("測試手臂總數超過 int 上限時拒絕建立")
+    void testRejectsTooManyArms() {
+        BatterTable table = new BatterTable();
+        new SyntheticLeagueGenerator(1).generate(table, 10_000);
+        List<PitchType> types = Collections.nCopies(20_000, PITCH_TYPES.get(0));
+        assertThrows(IllegalArgumentException.class, () -> new BanditStrategy(table, types, BanditStrategy.Mode.UCB));
+    }
+
+    @Test
+    @DisplayName("測試多執行緒同時選擇與更新")
+    void testConcurrentUpdates() throws InterruptedException {
+        BatterTable table = new BatterTable();
+        new SyntheticLeagueGenerator(9).generate(table, 4);
+        BanditStrategy strategy = new BanditStrategy(table, PITCH_TYPES, BanditStrategy.Mode.THOMPSON);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 5000; i++) {
+                    BanditStrategy.Selection selection = strategy.select(i % 4, true);
+                    strategy.update(i % 4, selection.arm(), i % 3 == 0);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        int total = 0;
+        for (int arm = 0; arm < Zone.COUNT * PITCH_TYPES.size(); arm++) {
+            total += strategy.trials(0, arm);
+        }
+        assertEquals(threads.length * 5000 / 4, total);
+        assertThrows(IllegalArgumentException.class, () -> strategy.select(4, true));
+        assertThrows(IllegalArgumentException.class, () -> strategy.update(0, -1, true));
+    }
+}
@@ -0,0 +1,100 @@
+package org.example;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("批次投球建議測試")
+class BatchRecommenderTest {
+
+    private static final int COUNT = 2000;
+    private static final List<int[][]> ROWS = rows();
+
+    @Test
+    @DisplayName("測試 CSV 輸出與 PitchStrategy.pitch 一致")
+    void testCsvMatchesPitchStrategy() throws IOException {
+        byte[] input = league(LeagueData.Format.CSV);
+        String[] lines = new String(run(new BatchRecommender(3, 64), input, LeagueData.Format.CSV, LeagueData.Format.CSV),
+                StandardCharsets.US_ASCII).split("\n");
+
+        assertEquals(ROWS.size() + 1, lines.length);
+        assertEquals(BatchRecommender.CSV_HEADER, lines[0]);
+        for (int id = 0; id < ROWS.size(); id++) {
+            assertEquals(expectedRow(id, TestBatters.of(ROWS.get(id)[0], ROWS.get(id)[1])), lines[id + 1]);
+        }
+        assertEquals(COUNT + ",2,x1,2", lines[COUNT + 1]);
+        // 最後一位沒有任何數據，使用預設值
+        assertEquals((COUNT + 1) + ",5,x3,1", lines[COUNT + 2]);
+    }
+
+    @Test
+    @DisplayName("測試執行緒數、區塊大小與輸入格式不影響結果")
+    void testDeterministicAcrossSettings() throws IOException {
+        byte[] csv = league(LeagueData.Format.CSV);
+        byte[] binary = league(LeagueData.Format.BINARY);
+        byte[] expected = run(new BatchRecommender(1, COUNT * 2), csv, LeagueData.Format.CSV, LeagueData.Format.BINARY);
+
+        assertArrayEquals(expected, run(new BatchRecommender(4, 7), csv, LeagueData.Format.CSV, LeagueData.Format.BINARY));
+        assertArrayEquals(expected, run(new BatchRecommender(2, 500), binary, LeagueData.Format.BINARY, LeagueData.Format.BINARY));
+
+        ByteBuffer buffer = ByteBuffer.wrap(expected);
+        assertEquals(BatchRecommender.MAGIC, buffer.getInt());
+        assertEquals(BatchRecommender.VERSION, buffer.getInt());
+        assertEquals(ROWS.size(), buffer.remaining() / BatchRecommender.ROW_BYTES);
+        assertEquals(0L, buffer.getLong());
+        assertThrows(IllegalArgumentException.class, () -> new BatchRecommender(1, 0));
+    }
+
+    // 2000 位模擬打者，加上只有2號與 x1 有投球以及完全沒有數據的打者
+    private static List<int[][]> rows() {
+        SyntheticLeagueGenerator generator = new SyntheticLeagueGenerator(11);
+        List<int[][]> rows = new ArrayList<>();
+        for (int id = 0; id < COUNT; id++) {
+            int[][] row = new int[2][Zone.COUNT];
+            generator.fill(id, row[0], row[1]);
+            rows.add(row);
+        }
+        int[][] sparse = new int[2][Zone.COUNT];
+        sparse[0][Zone.Z2.ordinal()] = 10;
+        sparse[1][Zone.Z2.ordinal()] = 4;
+        sparse[0][Zone.X1.ordinal()] = 5;
+        sparse[1][Zone.X1.ordinal()] = 1;
+        rows.add(sparse);
+        rows.add(new int[2][Zone.COUNT]);
+        return rows;
+    }
+
+    private static byte[] league(LeagueData.Format format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (LeagueData.RowWriter writer = LeagueData.writer(out, format)) {
+            for (int id = 0; id < ROWS.size(); id++) {
+                writer.write(id, ROWS.get(id)[0], ROWS.get(id)[1]);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] run(BatchRecommender recommender, byte[] input,
+                              LeagueData.Format inputFormat, LeagueData.Format outputFormat) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        recommender.run(new ByteArrayInputStream(input), inputFormat, out, outputFormat);
+        return out.toByteArray();
+    }
+
+    private static String expectedRow(int id, Batter batter) {
+        PitchResult ballOk = PitchStrategy.pitch(batter, true);
+        PitchResult strikeOnly = PitchStrategy.pitch(batter, false);
+        return id + "," + ballOk.getStartZone() + "," + ballOk.getEndZone() + "," + strikeOnly.getEndZone();
+    }
+}
@@ -0,0 +1,94 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 端對端擴展性測量：從 1K 到 10M 位打者
+ * 對每個規模先以 SyntheticLeagueGenerator 寫出二進位檔 (不計時)，再測量
+ * 載入時間、數據表佔用的記憶體、RecommendationView 全量計算的吞吐量、
+ * 以及 PitchStrategy.pitch 直接計算的吞吐量 (取樣)
+ * 不屬於單元測試，編譯後手動執行，10M 位打者需約 4GB 堆積：
+ * <pre>
+ * mvn -B test-compile
+ * java -Xmx6g --add-modules jdk.incubator.vector -cp target/classes:target/test-classes \
+ *     org.example.LeagueScalingBenchmark [最大打者數]
+ * </pre>
+ */
+public class LeagueScalingBenchmark {
+
+    private static final int[] SIZES = {1_000, 10_000, 100_000, 1_000_000, 10_000_000};
+    private static final int PITCH_SAMPLE = 200_000;
+
+    // 避免 JIT 把未使用的計算結果消除
+    private static volatile int blackhole;
+
+    public static void main(String[] args) throws IOException {
+        int max = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        System.out.printf("SIMD: %s%n", ZoneStats.isVectorized());
+        System.out.printf("%10s %10s %10s %14s %14s %14s%n",
+                "打者數", "檔案(MB)", "載入(ms)", "記憶體(MB)", "視圖(萬/秒)", "pitch(萬/秒)");
+        for (int size : SIZES) {
+            if (size > max) {
+                break;
+            }
+            run(size);
+        }
+    }
+
+    private static void run(int size) throws IOException {
+        Path file = Files.createTempFile("league-" + size, ".bin");
+        try {
+            new SyntheticLeagueGenerator(2024).write(Files.newOutputStream(file), LeagueData.Format.BINARY, size);
+
+            long before = usedHeap();
+            long start = System.nanoTime();
+            BatterTable table = new BatterTable(size);
+            try (InputStream in = Files.newInputStream(file)) {
+                LeagueData.load(in, LeagueData.Format.BINARY, table);
+            }
+            long loadNanos = System.nanoTime() - start;
+            long tableBytes = usedHeap() - before;
+
+            RecommendationView view = new RecommendationView(table);
+            start = System.nanoTime();
+            view.refresh();
+            long viewNanos = System.nanoTime() - start;
+
+            // pitch 需要 Batter 物件，只取樣部分打者，轉換時間不計入
+            int sample = Math.min(size, PITCH_SAMPLE);
+            Batter[] batters = new Batter[sample];
+            for (int i = 0; i < sample; i++) {
+                batters[i] = table.toBatter(i);
+            }
+            int sink = 0;
+            start = System.nanoTime();
+            for (Batter batter : batters) {
+                sink += PitchStrategy.pitch(batter, true).hashCode();
+                sink += PitchStrategy.pitch(batter, false).hashCode();
+            }
+            long pitchNanos = System.nanoTime() - start;
+            blackhole = sink;
+
+            System.out.printf("%10d %10.1f %10.1f %14.1f %14.1f %14.1f%n",
+                    size,
+                    Files.size(file) / 1e6,
+                    loadNanos / 1e6,
+                    tableBytes / 1e6,
+                    size / (viewNanos / 1e9) / 1e4,
+                    2.0 * sample / (pitchNanos / 1e9) / 1e4);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,144 @@
+package org.example;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("命令列工具測試")
+class MainTest {
+
+    private final Stream stdout = new Stream();
+    private final Stream stderr = new Stream();
+
+    @Test
+    @DisplayName("測試命令列選項")
+    void testOptions() {
+        Main.Options options = Main.Options.parse(new String[]{"--threads", "3", "league.bin", "-"});
+        assertEquals(3, options.threads);
+        assertEquals(LeagueData.Format.BINARY, options.inputFormat);
+        assertEquals(LeagueData.Format.CSV, options.outputFormat);
+
+        options = Main.Options.parse(new String[]{"-", "out.csv", "--format", "binary", "--chunk", "10"});
+        assertEquals(LeagueData.Format.CSV, options.inputFormat);
+        assertEquals(LeagueData.Format.BINARY, options.outputFormat);
+        assertEquals(10, options.chunkSize);
+
+        options = Main.Options.parse(new String[]{"--hits", "hits.csv", "pitches.csv"});
+        assertEquals("hits.csv", options.hits);
+        assertEquals("pitches.csv", options.input);
+
+        assertThrows(IllegalArgumentException.class, () -> Main.Options.parse(new String[0]));
+        assertThrows(IllegalArgumentException.class, () -> Main.Options.parse(new String[]{"--threads", "0", "-"}));
+        assertThrows(IllegalArgumentException.class, () -> Main.Options.parse(new String[]{"--format", "xml", "-"}));
+        assertThrows(IllegalArgumentException.class, () -> Main.Options.parse(new String[]{"--hits"}));
+        assertThrows(IllegalArgumentException.class,
+                () -> Main.Options.parse(new String[]{"--hits", "h.csv", "--input-format", "csv", "p.csv"}));
+    }
+
+    @Test
+    @DisplayName("測試由標準輸入讀取並寫到標準輸出，且不關閉標準輸入輸出")
+    void testStdinToStdout() throws IOException {
+        ByteArrayOutputStream league = new ByteArrayOutputStream();
+        SyntheticLeagueGenerator generator = new SyntheticLeagueGenerator(3);
+        int[] pitches = new int[Zone.COUNT];
+        int[] hits = new int[Zone.COUNT];
+        try (LeagueData.RowWriter writer = LeagueData.writer(league, LeagueData.Format.CSV)) {
+            for (int id = 0; id < 3; id++) {
+                generator.fill(id, pitches, hits);
+                writer.write(id, pitches, hits);
+            }
+        }
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        new BatchRecommender(1, 16).run(new ByteArrayInputStream(league.toByteArray()), LeagueData.Format.CSV,
+                expected, LeagueData.Format.CSV);
+        boolean[] stdinClosed = new boolean[1];
+        InputStream stdin = new ByteArrayInputStream(league.toByteArray()) {
+            @Override
+            public void close() {
+                stdinClosed[0] = true;
+            }
+        };
+
+        assertEquals(0, run(stdin, "--threads", "2", "-"));
+        assertEquals(expected.toString(StandardCharsets.US_ASCII), stdout.text());
+        assertTrue(stderr.text().contains("已處理 3 位打者"), stderr.text());
+        assertFalse(stdinClosed[0], "不應關閉標準輸入");
+        assertFalse(stdout.closed, "不應關閉標準輸出");
+    }
+
+    @Test
+    @DisplayName("測試以 zone,count 格式的投球數與安打數檔案輸入，結果與 PitchStrategy.pitch 相同")
+    void testBreakdownInput(@TempDir Path directory) throws IOException {
+        Path pitches = copyResource("pitch_breakdown.csv", directory);
+        Path hits = copyResource("base_hits_breakdown.csv", directory);
+        Path output = directory.resolve("out.csv");
+        Batter ohtani = new Batter(
+                PitchStrategy.loadDataFromCsv("pitch_breakdown.csv"),
+                PitchStrategy.loadDataFromCsv("base_hits_breakdown.csv"));
+        PitchResult ballOk = PitchStrategy.pitch(ohtani, true);
+        PitchResult strikeOnly = PitchStrategy.pitch(ohtani, false);
+
+        assertEquals(0, run(InputStream.nullInputStream(), "--hits", hits.toString(), pitches.toString(),
+                output.toString()));
+        assertEquals(BatchRecommender.CSV_HEADER + "\n0," + ballOk.getStartZone() + "," + ballOk.getEndZone()
+                        + "," + strikeOnly.getEndZone() + "\n",
+                Files.readString(output, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    @DisplayName("測試讀取失敗回傳1，選項錯誤回傳2並顯示用法")
+    void testErrorExitCodes(@TempDir Path directory) throws IOException {
+        assertEquals(1, run(InputStream.nullInputStream(), directory.resolve("missing.csv").toString()));
+        assertTrue(stderr.text().startsWith("處理失敗"), stderr.text());
+
+        stderr.reset();
+        InputStream malformed = new ByteArrayInputStream("batter_id\n0,1,2\n".getBytes(StandardCharsets.US_ASCII));
+        assertEquals(1, run(malformed, "-"));
+        assertTrue(stderr.text().startsWith("處理失敗"), stderr.text());
+
+        stderr.reset();
+        assertEquals(2, run(InputStream.nullInputStream(), "--threads", "x", "-"));
+        assertTrue(stderr.text().contains("用法"), stderr.text());
+    }
+
+    private int run(InputStream stdin, String... args) {
+        return Main.run(args, stdin, new PrintStream(stdout, true, StandardCharsets.UTF_8),
+                new PrintStream(stderr, true, StandardCharsets.UTF_8));
+    }
+
+    private static Path copyResource(String name, Path directory) throws IOException {
+        Path target = directory.resolve(name);
+        try (InputStream in = MainTest.class.getClassLoader().getResourceAsStream(name)) {
+            Files.copy(in, target);
+        }
+        return target;
+    }
+
+    // 記錄是否被關閉的輸出
+    private static final class Stream extends ByteArrayOutputStream {
+        boolean closed;
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        String text() {
+            return toString(StandardCharsets.UTF_8);
+        }
+    }
+}
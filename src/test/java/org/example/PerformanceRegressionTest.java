@@ -0,0 +1,222 @@
+package org.example;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.function.IntSupplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 熱門路徑的效能回歸檢查
+ * 以 ThreadMXBean 的執行緒配置位元組計算每次呼叫的配置量，並量測數輪每秒呼叫次數取最佳值，
+ * 配置量超過 src/test/resources/perf-baseline.properties 的預算即失敗，與機器無關，預設檢查；
+ * 吞吐量低於基準量測值的一半即失敗，只在 mvn -Pperf (perf.throughput=true，不掛 JaCoCo) 時檢查，
+ * 一般建置只寫入報告；結果寫到 target/perf-report.json
+ * 系統屬性：perf.gate=false 全部停用；perf.floorScale 調整吞吐量下限 (較慢的機器可設為 0.5 等)；
+ * perf.record=true 不檢查吞吐量，將本次量測值寫到 target/perf-baseline.properties 供更新基準
+ */
+@DisplayName("效能回歸檢查")
+class PerformanceRegressionTest {
+
+    private static final String BASELINE = "perf-baseline.properties";
+    private static final Path REPORT = Paths.get(System.getProperty("perf.report", "target/perf-report.json"));
+    private static final Path RECORD = Paths.get("target", BASELINE);
+    private static final long WARMUP_NANOS = 600_000_000L;
+    private static final long ROUND_NANOS = 100_000_000L;
+    private static final int ROUNDS = 5;
+    private static final int BATCH = 1000;
+    // 吞吐量下限為基準量測值的比例，再乘上 perf.floorScale
+    private static final double FLOOR_RATIO = 0.5;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final List<Result> RESULTS = new ArrayList<>();
+    private static final String[] PITCH_TYPES = {
+            "四縫線快速球", "卡特球", "伸卡球", "二縫線快速球", "快指叉球", "指叉球", "曲球", "滑球", "變速球"
+    };
+
+    private static Properties baseline;
+    private static Batter ohtani;
+    private static SharedRecommendationStore store;
+    private static int[] pitches;
+    private static int[] hits;
+    private static int sink;  // 防止結果被 JIT 消除
+
+    private record Result(String name, double bytesPerCall, double callsPerSecond,
+                          long maxBytesPerCall, double baselineCallsPerSecond, double minCallsPerSecond) {
+        boolean passed() {
+            return bytesPerCall <= maxBytesPerCall && (!checkThroughput() || callsPerSecond >= minCallsPerSecond);
+        }
+    }
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        assumeTrue(Boolean.parseBoolean(System.getProperty("perf.gate", "true")), "效能檢查已停用");
+        assumeTrue(THREADS.isThreadAllocatedMemorySupported(), "不支援執行緒配置量統計");
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+        baseline = new Properties();
+        try (InputStream in = PerformanceRegressionTest.class.getClassLoader().getResourceAsStream(BASELINE)) {
+            assertNotNull(in, "找不到 " + BASELINE);
+            baseline.load(in);
+        }
+        ohtani = new Batter(
+                PitchStrategy.loadDataFromCsv("pitch_breakdown.csv"),
+                PitchStrategy.loadDataFromCsv("base_hits_breakdown.csv"));
+        pitches = new int[Zone.COUNT];
+        hits = new int[Zone.COUNT];
+        for (Zone zone : Zone.values()) {
+            pitches[zone.ordinal()] = ohtani.pitchBreakdown().getOrDefault(zone.id(), 0);
+            hits[zone.ordinal()] = ohtani.baseHitsBreakdown().getOrDefault(zone.id(), 0);
+        }
+        Path file = Files.createTempFile("perf-store", ".bin");
+        file.toFile().deleteOnExit();
+        store = SharedRecommendationStore.create(file, 1);
+    }
+
+    @AfterAll
+    static void writeReport() throws IOException {
+        if (RESULTS.isEmpty()) {
+            return;
+        }
+        StringBuilder json = new StringBuilder("{\n  \"throughputGate\": ").append(checkThroughput())
+                .append(",\n  \"floorScale\": ").append(floorScale())
+                .append(",\n  \"floorRatio\": ").append(FLOOR_RATIO)
+                .append(",\n  \"results\": [\n");
+        for (int i = 0; i < RESULTS.size(); i++) {
+            Result result = RESULTS.get(i);
+            json.append(String.format(Locale.ROOT,
+                    "    {\"name\": \"%s\", \"bytesPerCall\": %.1f, \"maxBytesPerCall\": %d, "
+                            + "\"callsPerSecond\": %.0f, \"baselineCallsPerSecond\": %.0f, "
+                            + "\"ratio\": %.2f, \"minCallsPerSecond\": %.0f, \"passed\": %b}%s%n",
+                    result.name(), result.bytesPerCall(), result.maxBytesPerCall(),
+                    result.callsPerSecond(), result.baselineCallsPerSecond(),
+                    result.callsPerSecond() / result.baselineCallsPerSecond(),
+                    result.minCallsPerSecond(), result.passed(),
+                    i < RESULTS.size() - 1 ? "," : ""));
+        }
+        json.append("  ]\n}\n");
+        Files.createDirectories(REPORT.toAbsolutePath().getParent());
+        Files.writeString(REPORT, json, StandardCharsets.UTF_8);
+
+        if (recording()) {
+            // 只更新吞吐量基準，配置預算維持人工設定
+            StringBuilder properties = new StringBuilder("# PerformanceRegressionTest 量測值，確認後複製到 src/test/resources/")
+                    .append(BASELINE).append('\n');
+            for (Result result : RESULTS) {
+                properties.append(String.format(Locale.ROOT, "%s.baselineCallsPerSecond=%.0f%n",
+                        result.name(), result.callsPerSecond()));
+            }
+            Files.createDirectories(RECORD.toAbsolutePath().getParent());
+            Files.writeString(RECORD, properties, StandardCharsets.UTF_8);
+        }
+    }
+
+    @TestFactory
+    @DisplayName("測試配置量與吞吐量不低於基準")
+    Stream<DynamicTest> testHotPaths() {
+        int[] counter = new int[1];
+        return Stream.of(
+                gate("pitch.ballOk", () -> PitchStrategy.pitch(ohtani, true).hashCode()),
+                gate("pitch.strikeOnly", () -> PitchStrategy.pitch(ohtani, false).hashCode()),
+                gate("getPitchByType", () -> PitchStrategy.getPitchByType(
+                        PITCH_TYPES[counter[0]++ % PITCH_TYPES.length], (counter[0] & 1) == 0).hashCode()),
+                gate("batter.getBattingAverage", () -> (int) (ohtani.getBattingAverage("5") * 1000)),
+                gate("batter.getHighestAverageZone", () -> ohtani.getHighestAverageZone().length()),
+                gate("batter.getLowestAverageStrikeZone", () -> ohtani.getLowestAverageStrikeZone().length()),
+                gate("batter.getOverallBattingAverage", () -> (int) (ohtani.getOverallBattingAverage() * 1000)),
+                gate("store.publish", () -> {
+                    store.publish(0, pitches, hits);
+                    return 1;
+                }));
+    }
+
+    private static DynamicTest gate(String name, IntSupplier operation) {
+        return DynamicTest.dynamicTest(name, () -> {
+            long maxBytes = Long.parseLong(required(name + ".maxBytesPerCall"));
+            double baselineCalls = Double.parseDouble(required(name + ".baselineCallsPerSecond"));
+            double minCalls = baselineCalls * FLOOR_RATIO * floorScale();
+            Result result = measure(name, operation, maxBytes, baselineCalls, minCalls);
+            RESULTS.add(result);
+            assertTrue(result.bytesPerCall() <= maxBytes,
+                    String.format("%s 每次配置 %.1f 位元組，超過預算 %d", name, result.bytesPerCall(), maxBytes));
+            if (checkThroughput()) {
+                assertTrue(result.callsPerSecond() >= minCalls,
+                        String.format("%s 每秒 %.0f 次，低於下限 %.0f (基準 %.0f)",
+                                name, result.callsPerSecond(), minCalls, baselineCalls));
+            }
+        });
+    }
+
+    private static Result measure(String name, IntSupplier operation, long maxBytes,
+                                  double baselineCalls, double minCalls) {
+        // 暖機讓 JIT 編譯並完成逃逸分析
+        long start = System.nanoTime();
+        while (System.nanoTime() - start < WARMUP_NANOS) {
+            run(operation, BATCH);
+        }
+
+        // 取各輪最佳吞吐量，排除 GC 或其他行程造成的單輪變慢；配置量以所有輪次平均
+        long totalCalls = 0;
+        double bestCallsPerSecond = 0;
+        long bytesBefore = THREADS.getCurrentThreadAllocatedBytes();
+        for (int round = 0; round < ROUNDS; round++) {
+            long calls = 0;
+            long now;
+            start = System.nanoTime();
+            do {
+                run(operation, BATCH);
+                calls += BATCH;
+                now = System.nanoTime();
+            } while (now - start < ROUND_NANOS);
+            totalCalls += calls;
+            bestCallsPerSecond = Math.max(bestCallsPerSecond, calls / ((now - start) / 1e9));
+        }
+        long bytes = THREADS.getCurrentThreadAllocatedBytes() - bytesBefore;
+        return new Result(name, (double) bytes / totalCalls, bestCallsPerSecond, maxBytes, baselineCalls, minCalls);
+    }
+
+    private static void run(IntSupplier operation, int times) {
+        int result = 0;
+        for (int i = 0; i < times; i++) {
+            result += operation.getAsInt();
+        }
+        sink += result;
+    }
+
+    private static String required(String key) {
+        String value = baseline.getProperty(key);
+        assertNotNull(value, BASELINE + " 缺少 " + key);
+        return value;
+    }
+
+    // 吞吐量與機器相關，只在專用的效能環境 (mvn -Pperf) 檢查；記錄基準時不檢查
+    private static boolean checkThroughput() {
+        return Boolean.getBoolean("perf.throughput") && !recording();
+    }
+
+    private static boolean recording() {
+        return Boolean.getBoolean("perf.record");
+    }
+
+    private static double floorScale() {
+        return Double.parseDouble(System.getProperty("perf.floorScale", "1.0"));
+    }
+}
@@ -0,0 +1,52 @@
+package org.example;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("投球結果測試")
+class PitchResultTest {
+
+    @Test
+    @DisplayName("測試共用實例與建構子結果一致")
+    void testCanonicalInstances() {
+        for (Zone start : Zone.values()) {
+            for (Zone end : Zone.values()) {
+                PitchResult canonical = PitchResult.of(start, end);
+                PitchResult constructed = new PitchResult(start.id(), end.id());
+                assertEquals(constructed, canonical);
+                assertEquals(constructed.hashCode(), canonical.hashCode());
+                assertSame(canonical, PitchResult.of(start.id(), end.id()));
+                assertSame(canonical, PitchResult.of(start.ordinal(), end.ordinal()));
+                assertEquals(end.isStrike(), canonical.isEndInStrikeZone());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("測試投球軌跡分類")
+    void testTrajectory() {
+        assertEquals("直線球", PitchResult.of(Zone.Z5, Zone.Z5).getTrajectoryDescription());
+        assertEquals("出好球帶", PitchResult.of(Zone.Z5, Zone.X3).getTrajectoryDescription());
+        assertEquals("進好球帶", PitchResult.of(Zone.X1, Zone.Z7).getTrajectoryDescription());
+        assertEquals("變化球", PitchResult.of(Zone.Z5, Zone.Z1).getTrajectoryDescription());
+        assertEquals(PitchResult.Trajectory.BREAKING, PitchResult.of(Zone.X1, Zone.X2).getTrajectory());
+    }
+
+    @Test
+    @DisplayName("測試非法區域標識")
+    void testInvalidZone() {
+        assertThrows(IllegalArgumentException.class, () -> new PitchResult("x5", "1"));
+        assertThrows(IllegalArgumentException.class, () -> new PitchResult("5", "10"));
+        assertThrows(IllegalArgumentException.class, () -> PitchResult.of("0", "1"));
+        assertThrows(IllegalArgumentException.class, () -> PitchResult.of("5", null));
+        // 序數各自檢查，不可跨到相鄰的起始區域
+        assertThrows(IndexOutOfBoundsException.class, () -> PitchResult.of(0, Zone.COUNT));
+        assertThrows(IndexOutOfBoundsException.class, () -> PitchResult.of(1, -1));
+        assertThrows(IndexOutOfBoundsException.class, () -> PitchResult.of(Zone.COUNT, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> PitchResult.of(-1, 12));
+    }
+}
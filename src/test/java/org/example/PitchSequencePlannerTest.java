@@ -0,0 +1,80 @@
+package org.example;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("多球配球規劃測試")
+class PitchSequencePlannerTest {
+    private Batter ohtani;
+    private PitchSequencePlanner planner;
+
+    @BeforeEach
+    void setUp() {
+        ohtani = new Batter(
+                PitchStrategy.loadDataFromCsv("pitch_breakdown.csv"),
+                PitchStrategy.loadDataFromCsv("base_hits_breakdown.csv"));
+        planner = new PitchSequencePlanner(PitchStrategy.loadPitchTypes("pitch_types.csv"));
+    }
+
+    @Test
+    @DisplayName("測試規劃多球並正確推進球數")
+    void testPlanSequence() {
+        List<PitchSequencePlanner.PlannedPitch> plan = planner.plan(ohtani, 0, 0, 5, 50_000_000L);
+        assertFalse(plan.isEmpty());
+        assertTrue(plan.size() <= 5);
+
+        int pitchCount = 0;
+        for (PitchSequencePlanner.PlannedPitch pitch : plan) {
+            assertEquals(pitchCount, pitch.balls() + pitch.strikes(), "每一球應推進一個球數");
+            assertTrue(PitchStrategy.isValidZone(pitch.result().getEndZone()));
+            // 只規劃球種，落點與 getPitchByType 的好球或壞球版本相同
+            String type = pitch.type().getName();
+            assertTrue(pitch.result() == PitchStrategy.getPitchByType(type, false)
+                    || pitch.result() == PitchStrategy.getPitchByType(type, true), type);
+            pitchCount++;
+        }
+    }
+
+    @ParameterizedTest
+    @DisplayName("測試三壞球時第一球投進好球帶")
+    @CsvSource({"3, 0", "3, 1", "3, 2"})
+    void testThreeBallsThrowsStrike(int balls, int strikes) {
+        List<PitchSequencePlanner.PlannedPitch> plan = planner.plan(ohtani, balls, strikes, 4, 50_000_000L);
+        assertTrue(PitchStrategy.isStrikeZone(plan.get(0).result().getEndZone()),
+                String.format("在%d-%d count時應該投好球", balls, strikes));
+    }
+
+    @Test
+    @DisplayName("測試時間預算用盡時仍回傳已完成的規劃")
+    void testZeroBudget() {
+        List<PitchSequencePlanner.PlannedPitch> plan = planner.plan(ohtani, 1, 1, 5, 0L);
+        assertFalse(plan.isEmpty());
+    }
+
+    @Test
+    @DisplayName("測試極大的時間預算不會溢位而提早結束")
+    void testUnlimitedBudget() {
+        List<PitchSequencePlanner.PlannedPitch> unlimited = planner.plan(ohtani, 0, 0, 4, Long.MAX_VALUE);
+        PitchSequencePlanner reference = new PitchSequencePlanner(PitchStrategy.loadPitchTypes("pitch_types.csv"));
+        assertEquals(reference.plan(ohtani, 0, 0, 4, 60_000_000_000L), unlimited);
+    }
+
+    @Test
+    @DisplayName("測試非法參數")
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> planner.plan(ohtani, 4, 0, 3, 1_000_000L));
+        assertThrows(IllegalArgumentException.class,
+                () -> planner.plan(ohtani, 0, 0, PitchSequencePlanner.MAX_DEPTH + 1, 1_000_000L));
+        assertThrows(IllegalArgumentException.class, () -> new PitchSequencePlanner(List.of()));
+    }
+}
@@ -0,0 +1,60 @@
+package org.example;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DisplayName("預先編譯資源測試")
+class PrecompiledResourcesTest {
+
+    @Test
+    @DisplayName("測試建置產生的常數與 CSV 內容一致")
+    void testBuildOutputMatchesCsv() throws IOException {
+        ClassLoader loader = getClass().getClassLoader();
+        for (String name : new String[]{"pitch_breakdown.csv", "base_hits_breakdown.csv"}) {
+            Map<String, Integer> precompiled = PrecompiledResources.loadZoneData(name);
+            assertNotNull(precompiled, "generate-sources 階段應已產生 " + name + " 的常數");
+            try (InputStream in = loader.getResourceAsStream(name)) {
+                assertEquals(PitchStrategy.parseZoneCsv(in), precompiled);
+            }
+        }
+        List<PitchType> pitchTypes = PrecompiledResources.loadPitchTypes("pitch_types.csv");
+        assertNotNull(pitchTypes);
+        try (InputStream in = loader.getResourceAsStream("pitch_types.csv")) {
+            assertEquals(PitchStrategy.parsePitchTypesCsv(in), pitchTypes);
+        }
+        assertNull(PrecompiledResources.loadZoneData("missing.csv"));
+        assertNull(PrecompiledResources.loadPitchTypes("pitch_breakdown.csv"));
+    }
+
+    @Test
+    @DisplayName("測試每次取得的資料互不影響")
+    void testReturnsFreshCopies() {
+        Map<String, Integer> first = PitchStrategy.loadDataFromCsv("pitch_breakdown.csv");
+        first.put("5", -1);
+        Map<String, Integer> second = PitchStrategy.loadDataFromCsv("pitch_breakdown.csv");
+        assertNotSame(first, second);
+        assertEquals(185, second.get("5"));
+    }
+
+    @Test
+    @DisplayName("測試以系統屬性停用預先編譯資源")
+    void testDisabledByProperty() {
+        System.setProperty(PrecompiledResources.PRECOMPILED_PROPERTY, "false");
+        try {
+            assertNull(PrecompiledResources.loadZoneData("pitch_breakdown.csv"));
+            assertEquals(13, PitchStrategy.loadDataFromCsv("pitch_breakdown.csv").size());
+        } finally {
+            System.clearProperty(PrecompiledResources.PRECOMPILED_PROPERTY);
+        }
+    }
+}
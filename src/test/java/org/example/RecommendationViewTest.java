@@ -0,0 +1,62 @@
+package org.example;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DisplayName("投球建議實體化視圖測試")
+class RecommendationViewTest {
+    private Batter ohtani;
+    private BatterTable table;
+    private RecommendationView view;
+
+    @BeforeEach
+    void setUp() {
+        ohtani = new Batter(
+                PitchStrategy.loadDataFromCsv("pitch_breakdown.csv"),
+                PitchStrategy.loadDataFromCsv("base_hits_breakdown.csv"));
+        table = new BatterTable();
+        view = new RecommendationView(table);
+    }
+
+    @Test
+    @DisplayName("測試實體化結果與即時計算一致")
+    void testMatchesPitchStrategy() {
+        int id = table.add(ohtani);
+        assertNull(view.recommendation(id, true), "refresh 前不應有結果");
+
+        assertEquals(1, view.refresh());
+        assertEquals(PitchStrategy.pitch(ohtani, true), view.recommendation(id, true));
+        assertEquals(PitchStrategy.pitch(ohtani, false), view.recommendation(id, false));
+        assertEquals(ohtani.getHighestAverageZone(), view.highestAverageZone(id));
+        assertEquals(ohtani.getLowestAverageStrikeZone(), view.lowestAverageStrikeZone(id));
+    }
+
+    @Test
+    @DisplayName("測試只重新計算有變更的打者")
+    void testDeltaRefresh() {
+        for (int i = 0; i < 10; i++) {
+            table.add(ohtani);
+        }
+        assertEquals(10, view.refresh());
+        assertEquals(0, view.refresh());
+
+        Batter changed = new Batter(Map.of("7", 100, "3", 100), Map.of("7", 50, "3", 10));
+        table.set(4, changed);
+        table.set(8, changed);
+        assertEquals(2, view.pendingCount());
+        assertEquals("5", view.highestAverageZone(4), "refresh 前保留舊結果");
+
+        assertEquals(1, view.refresh(1));
+        assertEquals(1, view.pendingCount());
+        assertEquals(1, view.refresh());
+        assertEquals("7", view.highestAverageZone(8));
+        assertEquals(new PitchResult("7", "3"), view.recommendation(8, false));
+        assertEquals("5", view.highestAverageZone(5));
+    }
+}
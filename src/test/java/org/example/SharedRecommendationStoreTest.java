@@ -0,0 +1,177 @@
+package org.example;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("共享記憶體投球建議測試")
+class SharedRecommendationStoreTest {
+
+    @Test
+    @DisplayName("測試另一個映射讀到的建議與 PitchStrategy.pitch 一致")
+    void testReaderSeesPublishedRecommendations(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("recommendations.shm");
+        SharedRecommendationStore publisher = SharedRecommendationStore.create(path, 600);
+        SharedRecommendationStore reader = SharedRecommendationStore.open(path);
+        assertEquals(0, reader.size());
+        assertNull(reader.recommendation(0, true));
+
+        SyntheticLeagueGenerator generator = new SyntheticLeagueGenerator(5);
+        BatterTable table = new BatterTable();
+        List<Batter> batters = new ArrayList<>();
+        int[] pitches = new int[Zone.COUNT];
+        int[] hits = new int[Zone.COUNT];
+        for (int id = 0; id <= 501; id++) {
+            Arrays.fill(pitches, 0);
+            Arrays.fill(hits, 0);
+            if (id < 500) {
+                generator.fill(id, pitches, hits);
+            } else if (id == 500) {
+                pitches[Zone.Z2.ordinal()] = 10;
+                hits[Zone.Z2.ordinal()] = 4;
+                pitches[Zone.X1.ordinal()] = 5;
+                hits[Zone.X1.ordinal()] = 1;
+            }
+            table.add(pitches, hits);
+            batters.add(TestBatters.of(pitches, hits));
+        }
+        publisher.publishAll(table);
+        Batter ohtani = new Batter(
+                PitchStrategy.loadDataFromCsv("pitch_breakdown.csv"),
+                PitchStrategy.loadDataFromCsv("base_hits_breakdown.csv"));
+        publisher.publish(599, ohtani);
+
+        assertEquals(600, reader.size());
+        for (int id = 0; id < table.size(); id++) {
+            Batter batter = batters.get(id);
+            assertEquals(PitchStrategy.pitch(batter, true), reader.recommendation(id, true));
+            assertEquals(PitchStrategy.pitch(batter, false), reader.recommendation(id, false));
+            assertEquals(table.toBatter(id), reader.batter(id));
+        }
+        assertEquals(PitchResult.of(Zone.Z2, Zone.X1), reader.recommendation(500, true));
+        assertEquals(PitchResult.of(Zone.Z5, Zone.Z1), reader.recommendation(501, false));
+        assertEquals(PitchStrategy.pitch(ohtani, true), reader.recommendation(599, true));
+        assertEquals(PitchStrategy.pitch(ohtani, false), reader.recommendation(599, false));
+        assertNull(reader.batter(550));
+    }
+
+    @Test
+    @DisplayName("測試以 Batter 發布時投球數為0的區域與 PitchStrategy.pitch 規則相同")
+    void testPublishBatterWithZeroPitchZones(@TempDir Path directory) throws IOException {
+        SharedRecommendationStore store = SharedRecommendationStore.create(directory.resolve("recommendations.shm"), 3);
+        Batter[] batters = {
+                new Batter(Map.of("5", 10, "3", 10, "x1", 0), Map.of("5", 3, "3", 2)),
+                new Batter(Map.of("5", 20, "2", 0, "x2", 4), Map.of("5", 6, "x2", 1)),
+                new Batter(Map.of("1", 0, "x3", 0), Map.of())
+        };
+        for (int id = 0; id < batters.length; id++) {
+            store.publish(id, batters[id]);
+            assertEquals(PitchStrategy.pitch(batters[id], true), store.recommendation(id, true));
+            assertEquals(PitchStrategy.pitch(batters[id], false), store.recommendation(id, false));
+        }
+        assertEquals(PitchResult.of(Zone.Z5, Zone.Z3), store.recommendation(0, true));
+        assertEquals(PitchResult.of(Zone.Z5, Zone.Z5), store.recommendation(1, false));
+        assertEquals(PitchResult.of(Zone.Z5, Zone.X3), store.recommendation(2, true));
+    }
+
+    @Test
+    @DisplayName("測試發布中讀取不會看到寫到一半的數據")
+    void testConcurrentReadsAreConsistent(@TempDir Path directory) throws Exception {
+        Path path = directory.resolve("recommendations.shm");
+        SharedRecommendationStore publisher = SharedRecommendationStore.create(path, 1);
+        SharedRecommendationStore reader = SharedRecommendationStore.open(path);
+        int rounds = 200_000;
+        AtomicReference<String> failure = new AtomicReference<>();
+
+        Thread readerThread = new Thread(() -> {
+            int[] pitches = new int[Zone.COUNT];
+            int[] hits = new int[Zone.COUNT];
+            long last = 0;
+            while (last < rounds && failure.get() == null) {
+                long version = reader.read(0, pitches, hits);
+                // 每次發布的所有欄位都是同一個值，混到不同版本即表示讀到寫一半的數據
+                for (int z = 0; z < Zone.COUNT; z++) {
+                    if (pitches[z] != pitches[0] || hits[z] != pitches[0]) {
+                        failure.set("版本 " + version + " 不一致: " + Arrays.toString(pitches));
+                    }
+                }
+                if (version < last) {
+                    failure.set("版本倒退: " + version + " < " + last);
+                }
+                last = version;
+            }
+        });
+        readerThread.start();
+        int[] values = new int[Zone.COUNT];
+        for (int i = 1; i <= rounds; i++) {
+            Arrays.fill(values, i);
+            publisher.publish(0, values, values);
+        }
+        readerThread.join(10_000);
+
+        assertNull(failure.get());
+        assertEquals(rounds, reader.read(0, values, values));
+        assertEquals(rounds, values[Zone.X4.ordinal()]);
+    }
+
+    @Test
+    @DisplayName("測試重新建立後舊映射不再提供過時內容")
+    void testRecreateSupersedesOldMapping(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("recommendations.shm");
+        SharedRecommendationStore oldPublisher = SharedRecommendationStore.create(path, 2);
+        SharedRecommendationStore oldReader = SharedRecommendationStore.open(path);
+        int[] values = new int[Zone.COUNT];
+        Arrays.fill(values, 3);
+        oldPublisher.publish(1, values, values);
+        assertEquals(2, oldReader.size());
+
+        SharedRecommendationStore publisher = SharedRecommendationStore.create(path, 2);
+        assertTrue(oldReader.isSuperseded());
+        assertTrue(oldPublisher.isSuperseded());
+        assertThrows(IllegalStateException.class, oldReader::size);
+        assertThrows(IllegalStateException.class, () -> oldReader.recommendation(1, true));
+        assertThrows(IllegalStateException.class, () -> oldReader.read(1, values, values));
+        assertThrows(IllegalStateException.class, () -> oldPublisher.publish(0, values, values));
+
+        SharedRecommendationStore reader = SharedRecommendationStore.open(path);
+        assertFalse(reader.isSuperseded());
+        assertEquals(0, reader.size());
+        publisher.publish(0, values, values);
+        assertEquals(1, reader.size());
+        assertNull(reader.batter(1));
+    }
+
+    @Test
+    @DisplayName("測試無效的檔案與操作")
+    void testInvalidUsage(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("recommendations.shm");
+        SharedRecommendationStore publisher = SharedRecommendationStore.create(path, 4);
+        SharedRecommendationStore reader = SharedRecommendationStore.open(path);
+        int[] empty = new int[Zone.COUNT];
+
+        assertThrows(IllegalArgumentException.class, () -> publisher.publish(4, empty, empty));
+        assertThrows(IllegalArgumentException.class, () -> reader.recommendation(-1, true));
+        assertThrows(IllegalStateException.class, () -> reader.publish(0, empty, empty));
+        assertThrows(IllegalArgumentException.class, () -> SharedRecommendationStore.create(path, 0));
+
+        Path other = directory.resolve("other.bin");
+        Files.write(other, new byte[SharedRecommendationStore.HEADER_BYTES]);
+        assertThrows(IOException.class, () -> SharedRecommendationStore.open(other));
+        assertTrue(Files.size(path) >= SharedRecommendationStore.HEADER_BYTES + 4L * SharedRecommendationStore.SLOT_BYTES);
+    }
+}
@@ -0,0 +1,138 @@
+package org.example;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("聯盟模擬數據測試")
+class SyntheticLeagueGeneratorTest {
+
+    @Test
+    @DisplayName("測試相同種子產生相同數據")
+    void testDeterministic() {
+        int[] p1 = new int[Zone.COUNT];
+        int[] h1 = new int[Zone.COUNT];
+        int[] p2 = new int[Zone.COUNT];
+        int[] h2 = new int[Zone.COUNT];
+        new SyntheticLeagueGenerator(1).fill(12345, p1, h1);
+        new SyntheticLeagueGenerator(1).fill(12345, p2, h2);
+        assertArrayEquals(p1, p2);
+        assertArrayEquals(h1, h2);
+
+        new SyntheticLeagueGenerator(2).fill(12345, p2, h2);
+        assertTrue(!java.util.Arrays.equals(p1, p2) || !java.util.Arrays.equals(h1, h2), "不同種子應產生不同數據");
+    }
+
+    @Test
+    @DisplayName("測試數據範圍合理")
+    void testRealisticRanges() {
+        SyntheticLeagueGenerator generator = new SyntheticLeagueGenerator(2024);
+        BatterTable table = new BatterTable();
+        generator.generate(table, 2000);
+
+        for (int id = 0; id < table.size(); id++) {
+            for (Zone zone : Zone.values()) {
+                assertTrue(table.hits(id, zone) <= table.pitches(id, zone), "安打數不應超過投球數");
+                assertTrue(table.average(id, zone) <= 0.6);
+            }
+        }
+        ZoneQueryEngine engine = new ZoneQueryEngine(table);
+        double median5 = engine.percentile(Zone.Z5, 50, 50);
+        double medianX3 = engine.percentile(Zone.X3, 50, 50);
+        assertTrue(median5 > medianX3, "5號位置的打擊率應高於壞球區");
+    }
+
+    @ParameterizedTest
+    @DisplayName("測試串流格式寫出後可完整讀回")
+    @EnumSource(LeagueData.Format.class)
+    void testRoundTrip(LeagueData.Format format) throws IOException {
+        SyntheticLeagueGenerator generator = new SyntheticLeagueGenerator(99);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        generator.write(out, format, 100);
+
+        int[] pitches = new int[Zone.COUNT];
+        int[] hits = new int[Zone.COUNT];
+        int[] expectedPitches = new int[Zone.COUNT];
+        int[] expectedHits = new int[Zone.COUNT];
+        try (LeagueData.RowReader reader = LeagueData.reader(new ByteArrayInputStream(out.toByteArray()), format)) {
+            for (long i = 0; i < 100; i++) {
+                assertTrue(reader.next(pitches, hits));
+                assertEquals(i, reader.batterId());
+                generator.fill(i, expectedPitches, expectedHits);
+                assertArrayEquals(expectedPitches, pitches);
+                assertArrayEquals(expectedHits, hits);
+            }
+            assertFalse(reader.next(pitches, hits));
+        }
+    }
+
+    @Test
+    @DisplayName("測試拒絕負數或溢位的打者編號與數值")
+    void testRejectsInvalidRows() throws IOException {
+        int[] pitches = new int[Zone.COUNT];
+        int[] hits = new int[Zone.COUNT];
+        String zeros = ",0".repeat(2 * Zone.COUNT - 1);
+        String header = LeagueData.csvHeader() + "\n";
+        // 超過 long 上限的編號與超過 int 上限的投球數
+        for (String row : List.of("99999999999999999999,0" + zeros, "-1,0" + zeros, "1,2147483648" + zeros)) {
+            byte[] csv = (header + row + "\n").getBytes(StandardCharsets.US_ASCII);
+            try (LeagueData.RowReader reader = LeagueData.reader(new ByteArrayInputStream(csv), LeagueData.Format.CSV)) {
+                assertThrows(IOException.class, () -> reader.next(pitches, hits), row);
+            }
+        }
+
+        // 二進位的負數編號
+        ByteBuffer binary = ByteBuffer.allocate(2 * Integer.BYTES + LeagueData.ROW_BYTES);
+        binary.putInt(LeagueData.MAGIC).putInt(LeagueData.VERSION).putLong(-1);
+        try (LeagueData.RowReader reader = LeagueData.reader(new ByteArrayInputStream(binary.array()), LeagueData.Format.BINARY)) {
+            assertThrows(IOException.class, () -> reader.next(pitches, hits));
+        }
+
+        for (LeagueData.Format format : LeagueData.Format.values()) {
+            LeagueData.RowWriter writer = LeagueData.writer(new ByteArrayOutputStream(), format);
+            assertThrows(IllegalArgumentException.class, () -> writer.write(-1, pitches, hits));
+        }
+    }
+
+    @Test
+    @DisplayName("測試寫出既有 CSV 格式")
+    void testExistingCsvFormats() throws IOException {
+        SyntheticLeagueGenerator generator = new SyntheticLeagueGenerator(5);
+        StringWriter pitchOut = new StringWriter();
+        StringWriter hitsOut = new StringWriter();
+        generator.writeBreakdownCsv(0, pitchOut, hitsOut);
+
+        String[] pitchLines = pitchOut.toString().split("\n");
+        assertEquals("zone,count", pitchLines[0]);
+        assertEquals(14, pitchLines.length, "應該有13個區域的投球數據");
+        assertTrue(pitchLines[13].startsWith("x4,"));
+        assertEquals("zone,hits", hitsOut.toString().split("\n")[0]);
+
+        List<PitchType> types = PitchStrategy.loadPitchTypes("pitch_types.csv");
+        StringWriter tracking = new StringWriter();
+        generator.writePitchTracking(tracking, types, 500);
+        String[] lines = tracking.toString().split("\n");
+        assertEquals(501, lines.length);
+        for (int i = 1; i < lines.length; i++) {
+            String[] parts = lines[i].split(",");
+            PitchType type = types.stream().filter(t -> t.getName().equals(parts[0])).findFirst().orElseThrow();
+            assertTrue(type.isSpeedInRange(Integer.parseInt(parts[1])));
+            assertTrue(type.isSpinInRange(Integer.parseInt(parts[2])));
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package org.example;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 測試用的打者資料
+ */
+final class TestBatters {
+
+    private TestBatters() {
+    }
+
+    /**
+     * 由分區陣列組成打者，13個區域全部放入，包含投球數為0的區域
+     * 用來驗證批次運算與以原始數據組成的 Batter 計算結果相同 (BatterTable.toBatter 會略過投球數為0的區域)
+     * @param pitches 13個區域的投球數
+     * @param hits 13個區域的安打數
+     * @return 打者
+     */
+    static Batter of(int[] pitches, int[] hits) {
+        Map<String, Integer> pitchBreakdown = new HashMap<>();
+        Map<String, Integer> hitsBreakdown = new HashMap<>();
+        for (Zone zone : Zone.values()) {
+            pitchBreakdown.put(zone.id(), pitches[zone.ordinal()]);
+            hitsBreakdown.put(zone.id(), hits[zone.ordinal()]);
+        }
+        return new Batter(pitchBreakdown, hitsBreakdown);
+    }
+}
@@ -0,0 +1,176 @@
+package org.example;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("分區查詢引擎測試")
+class ZoneQueryEngineTest {
+    private BatterTable table;
+    private ZoneQueryEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        table = new BatterTable();
+        engine = new ZoneQueryEngine(table);
+    }
+
+    private static int[] zones(int z5, int z7) {
+        int[] values = new int[Zone.COUNT];
+        java.util.Arrays.fill(values, 100);
+        values[Zone.Z5.ordinal()] = z5;
+        values[Zone.Z7.ordinal()] = z7;
+        return values;
+    }
+
+    @Test
+    @DisplayName("測試 Top-K 與最低投球數條件")
+    void testTopKWithMinPitches() {
+        int a = table.add(zones(200, 100), zones(60, 30));   // 5號 .300
+        int b = table.add(zones(50, 100), zones(25, 30));    // 5號 .500，但投球數不足
+        int c = table.add(zones(150, 100), zones(30, 30));   // 5號 .200
+
+        assertArrayEquals(new int[]{b, a, c}, engine.topK(Zone.Z5, 10, 0));
+        assertArrayEquals(new int[]{a, c}, engine.topK(Zone.Z5, 2, 100));
+        assertArrayEquals(new int[]{c}, engine.bottomK(Zone.Z5, 1, 100));
+    }
+
+    @Test
+    @DisplayName("測試增量更新後索引保持正確")
+    void testIncrementalUpdate() {
+        int a = table.add(zones(100, 100), zones(10, 30));
+        int b = table.add(zones(100, 100), zones(20, 30));
+        assertArrayEquals(new int[]{b, a}, engine.topK(Zone.Z5, 2, 0));
+
+        table.set(a, zones(100, 100), zones(40, 30));
+        int c = table.add(zones(100, 100), zones(30, 30));
+        assertArrayEquals(new int[]{a, c, b}, engine.topK(Zone.Z5, 3, 0));
+    }
+
+    @Test
+    @DisplayName("測試大量變更時整批重建與逐筆更新結果一致")
+    void testRebuildMatchesIncremental() {
+        Random random = new Random(42);
+        for (int i = 0; i < 500; i++) {
+            table.add(randomZones(random, 50, 200), randomZones(random, 0, 50));
+        }
+        engine.topK(Zone.Z1, 1, 0);
+        for (int i = 0; i < 20; i++) {
+            table.set(random.nextInt(table.size()), randomZones(random, 50, 200), randomZones(random, 0, 50));
+        }
+
+        int[] incremental = engine.topK(Zone.Z9, 500, 0);
+        ZoneQueryEngine fresh = new ZoneQueryEngine(table);
+        assertArrayEquals(fresh.topK(Zone.Z9, 500, 0), incremental);
+        for (int i = 1; i < incremental.length; i++) {
+            assertTrue(table.average(incremental[i - 1], Zone.Z9) >= table.average(incremental[i], Zone.Z9));
+        }
+    }
+
+    @Test
+    @DisplayName("測試最弱區域集合與百分位數在逐筆更新及重建後與逐一計算一致")
+    void testIndexesMatchScan() {
+        Random random = new Random(7);
+        for (int i = 0; i < 300; i++) {
+            table.add(randomZones(random, 0, 120), randomZones(random, 0, 40));
+        }
+        assertMatchesScan();
+        // 少於門檻逐筆更新，超過門檻整批重建
+        for (int updates : new int[]{ZoneQueryEngine.INCREMENTAL_LIMIT, ZoneQueryEngine.INCREMENTAL_LIMIT + 1}) {
+            for (int i = 0; i < updates; i++) {
+                int[] pitches = randomZones(random, 0, 120);
+                table.set(random.nextInt(table.size()), pitches, randomZones(random, 0, 40));
+            }
+            assertMatchesScan();
+        }
+    }
+
+    private void assertMatchesScan() {
+        for (int minPitches : new int[]{0, 1, 60}) {
+            for (int z = 0; z < Zone.X1.ordinal(); z++) {
+                Zone zone = Zone.of(z);
+                int[] expected = java.util.stream.IntStream.range(0, table.size())
+                        .filter(id -> scanWeakest(id, minPitches) == zone).toArray();
+                assertArrayEquals(expected, engine.withWeakestStrikeZone(zone, minPitches), "區域 " + zone.id());
+            }
+        }
+        double[] averages = java.util.stream.IntStream.range(0, table.size())
+                .mapToDouble(id -> table.average(id, Zone.Z3)).sorted().toArray();
+        for (double percentile : new double[]{0, 25, 50, 99, 100}) {
+            int rank = Math.max(1, (int) Math.ceil(percentile / 100.0 * averages.length));
+            assertEquals(averages[rank - 1], engine.percentile(Zone.Z3, percentile, 0), 0, "百分位 " + percentile);
+        }
+    }
+
+    // 逐一比較投球數足夠的好球區，相同時取序數較小者
+    private Zone scanWeakest(int id, int minPitches) {
+        Zone weakest = null;
+        for (int z = 0; z < Zone.X1.ordinal(); z++) {
+            Zone zone = Zone.of(z);
+            if (table.pitches(id, zone) >= Math.max(minPitches, 1)
+                    && (weakest == null || table.average(id, zone) < table.average(id, weakest))) {
+                weakest = zone;
+            }
+        }
+        return weakest;
+    }
+
+    private static int[] randomZones(Random random, int min, int max) {
+        int[] values = new int[Zone.COUNT];
+        for (int z = 0; z < Zone.COUNT; z++) {
+            values[z] = min + random.nextInt(max - min);
+        }
+        return values;
+    }
+
+    @Test
+    @DisplayName("測試百分位數查詢")
+    void testPercentile() {
+        for (int hits = 1; hits <= 10; hits++) {
+            table.add(zones(100, 100), zones(hits * 10, 30));
+        }
+        assertEquals(0.1, engine.percentile(Zone.Z5, 0, 0), 1e-9);
+        assertEquals(0.5, engine.percentile(Zone.Z5, 50, 0), 1e-9);
+        assertEquals(1.0, engine.percentile(Zone.Z5, 100, 0), 1e-9);
+        assertTrue(Double.isNaN(engine.percentile(Zone.Z5, 50, 1000)));
+        assertThrows(IllegalArgumentException.class, () -> engine.percentile(Zone.Z5, 101, 0));
+    }
+
+    @Test
+    @DisplayName("測試最弱好球區查詢與 Batter 一致")
+    void testWeakestStrikeZone() {
+        Batter ohtani = new Batter(
+                PitchStrategy.loadDataFromCsv("pitch_breakdown.csv"),
+                PitchStrategy.loadDataFromCsv("base_hits_breakdown.csv"));
+        int id = table.add(ohtani);
+        table.add(zones(100, 100), zones(30, 5));
+
+        assertEquals(ohtani.getLowestAverageStrikeZone(), engine.weakestStrikeZone(id).id());
+        assertArrayEquals(new int[]{1}, engine.withWeakestStrikeZone(Zone.Z7, 50));
+        assertEquals(0, engine.withWeakestStrikeZone(Zone.Z7, 101).length);
+        assertThrows(IllegalArgumentException.class, () -> engine.withWeakestStrikeZone(Zone.X1, 0));
+    }
+
+    @Test
+    @DisplayName("測試最低投球數同時套用於挑選最弱好球區")
+    void testWeakestStrikeZoneSampleFloor() {
+        // 1號位置只有2球0安打，投球數足夠的區域中以7號最弱
+        int[] pitches = zones(100, 100);
+        int[] hits = zones(30, 5);
+        pitches[Zone.Z1.ordinal()] = 2;
+        hits[Zone.Z1.ordinal()] = 0;
+        int id = table.add(pitches, hits);
+
+        assertEquals(Zone.Z1, engine.weakestStrikeZone(id));
+        assertEquals(0, engine.withWeakestStrikeZone(Zone.Z7, 1).length);
+        assertArrayEquals(new int[]{id}, engine.withWeakestStrikeZone(Zone.Z7, 50));
+        assertEquals(0, engine.withWeakestStrikeZone(Zone.Z1, 50).length);
+    }
+}
@@ -0,0 +1,59 @@
+package org.example;
+
+import java.util.SplittableRandom;
+
+/**
+ * 比較批次分區統計的純量版本與 SIMD 版本
+ * 不屬於單元測試，編譯後手動執行：
+ * <pre>
+ * mvn -B test-compile
+ * java --add-modules jdk.incubator.vector -cp target/classes:target/test-classes org.example.ZoneStatsBenchmark [打者數]
+ * </pre>
+ */
+public class ZoneStatsBenchmark {
+
+    private static final int ROUNDS = 20;
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        SplittableRandom random = new SplittableRandom(2024);
+        int[][] pitches = new int[Zone.COUNT][count];
+        int[][] hits = new int[Zone.COUNT][count];
+        for (int z = 0; z < Zone.COUNT; z++) {
+            for (int i = 0; i < count; i++) {
+                pitches[z][i] = random.nextInt(400);
+                hits[z][i] = pitches[z][i] == 0 ? 0 : random.nextInt(pitches[z][i] / 3 + 1);
+            }
+        }
+        byte[] highest = new byte[count];
+        byte[] lowest = new byte[count];
+        byte[] lowestStrike = new byte[count];
+
+        System.out.printf("打者數: %d%n", count);
+        double scalar = measure("純量", ZoneStats.SCALAR, pitches, hits, highest, lowest, lowestStrike);
+        if (ZoneStats.VECTOR == null) {
+            System.out.println("SIMD 版本無法載入，請加上 --add-modules jdk.incubator.vector");
+            return;
+        }
+        double vector = measure("SIMD", ZoneStats.VECTOR, pitches, hits, highest, lowest, lowestStrike);
+        System.out.printf("加速比: %.2fx%n", scalar / vector);
+    }
+
+    private static double measure(String name, ZoneKernel kernel, int[][] pitches, int[][] hits,
+                                  byte[] highest, byte[] lowest, byte[] lowestStrike) {
+        int count = highest.length;
+        // 暖機讓 JIT 編譯
+        for (int r = 0; r < ROUNDS; r++) {
+            kernel.extremes(pitches, hits, 0, count, highest, lowest, lowestStrike);
+        }
+        long best = Long.MAX_VALUE;
+        for (int r = 0; r < ROUNDS; r++) {
+            long start = System.nanoTime();
+            kernel.extremes(pitches, hits, 0, count, highest, lowest, lowestStrike);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        double nanosPerBatter = (double) best / count;
+        System.out.printf("%s: %.2f ms, %.2f ns/打者%n", name, best / 1e6, nanosPerBatter);
+        return nanosPerBatter;
+    }
+}
@@ -0,0 +1,155 @@
+package org.example;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("分區統計運算測試")
+class ZoneStatsTest {
+
+    @Test
+    @DisplayName("測試打擊率計算略過無效、不存在與投球數為0的區域")
+    void testAverages() {
+        Batter batter = new Batter(Map.of("5", 100, "x5", 100, "x1", 0), Map.of("5", 40, "x5", 90));
+        double[] averages = new double[Zone.COUNT];
+        ZoneStats.averages(batter, averages);
+
+        assertEquals(0.4, averages[Zone.Z5.ordinal()], 1e-9);
+        assertTrue(Double.isNaN(averages[Zone.X1.ordinal()]));
+        assertTrue(Double.isNaN(averages[Zone.Z1.ordinal()]));
+        assertEquals(Zone.Z5.ordinal(), ZoneStats.argMax(averages, 0, Zone.COUNT));
+        assertEquals(Zone.Z5.ordinal(), ZoneStats.argMin(averages, 0, Zone.COUNT));
+        assertEquals(-1, ZoneStats.argMin(averages, 0, Zone.Z5.ordinal()));
+    }
+
+    @Test
+    @DisplayName("測試批次運算與 PitchStrategy 結果一致")
+    void testExtremesMatchPitchStrategy() {
+        Batter ohtani = new Batter(
+                PitchStrategy.loadDataFromCsv("pitch_breakdown.csv"),
+                PitchStrategy.loadDataFromCsv("base_hits_breakdown.csv"));
+        BatterTable table = new BatterTable();
+        table.add(ohtani);
+        byte[] highest = new byte[1];
+        byte[] lowest = new byte[1];
+        byte[] lowestStrike = new byte[1];
+        ZoneStats.extremes(table, 0, 1, highest, lowest, lowestStrike);
+
+        assertEquals(PitchStrategy.pitch(ohtani, true),
+                new PitchResult(Zone.of(highest[0]).id(), Zone.of(lowest[0]).id()));
+        assertEquals(PitchStrategy.pitch(ohtani, false),
+                new PitchResult(Zone.of(highest[0]).id(), Zone.of(lowestStrike[0]).id()));
+    }
+
+    @Test
+    @DisplayName("測試投球數為0的區域在 pitch 與批次運算中規則相同")
+    void testZeroPitchZonesMatchPitch() {
+        Batter[] batters = {
+                new Batter(Map.of("5", 10, "3", 10, "x1", 0), Map.of("5", 3, "3", 2)),
+                new Batter(Map.of("1", 0, "5", 0, "x3", 0), Map.of()),
+                new Batter(Map.of("5", 20, "2", 0), Map.of("5", 6)),
+                new Batter(Map.of(), Map.of())
+        };
+        // 直接加入 Batter，不經過 toBatter，確認兩條路徑使用同一個規則
+        BatterTable table = new BatterTable();
+        for (Batter batter : batters) {
+            table.add(batter);
+        }
+        RecommendationView view = new RecommendationView(table);
+        view.refresh();
+
+        for (int id = 0; id < batters.length; id++) {
+            for (boolean ballIsOK : new boolean[]{true, false}) {
+                assertEquals(PitchStrategy.pitch(batters[id], ballIsOK), view.recommendation(id, ballIsOK),
+                        "打者 " + id + " ballIsOK=" + ballIsOK);
+            }
+            assertEquals(batters[id].getHighestAverageZone(), view.highestAverageZone(id));
+            assertEquals(batters[id].getLowestAverageStrikeZone(), view.lowestAverageStrikeZone(id));
+        }
+        assertEquals(PitchResult.of(Zone.Z5, Zone.Z3), PitchStrategy.pitch(batters[0], true));
+        assertEquals(PitchResult.of(Zone.Z5, Zone.X3), PitchStrategy.pitch(batters[1], true));
+    }
+
+    @Test
+    @DisplayName("測試打擊率相同與投球數為0時各路徑一致")
+    void testTiesAndZeroPitchZonesOnAllPaths() {
+        // x1 先放入，HashMap 中與 9 號同一個桶且排在前面，結果仍取序數較小的 9 號
+        Map<String, Integer> tiedPitches = new LinkedHashMap<>();
+        tiedPitches.put("x1", 10);
+        tiedPitches.put("9", 10);
+        tiedPitches.put("5", 10);
+        tiedPitches.put("1", 0);
+        tiedPitches.put("3", 10);
+        Map<String, Integer> allTiedPitches = new HashMap<>();
+        Map<String, Integer> allTiedHits = new HashMap<>();
+        for (Zone zone : Zone.values()) {
+            allTiedPitches.put(zone.id(), zone == Zone.X4 ? 0 : 10);
+            allTiedHits.put(zone.id(), zone == Zone.X4 ? 0 : 2);
+        }
+        Batter[] batters = {
+                new Batter(tiedPitches, Map.of("x1", 5, "9", 5, "5", 1, "3", 1)),
+                new Batter(allTiedPitches, allTiedHits),
+                new Batter(Map.of("5", 0, "x3", 0), Map.of())
+        };
+        // 最高、最低、好球區最低
+        String[][] expected = {{"9", "3", "3"}, {"1", "1", "1"}, {"5", "1", "1"}};
+
+        BatterTable table = new BatterTable();
+        for (Batter batter : batters) {
+            table.add(batter);
+        }
+        for (ZoneKernel kernel : new ZoneKernel[]{ZoneStats.SCALAR, ZoneStats.VECTOR}) {
+            byte[] highest = new byte[batters.length];
+            byte[] lowest = new byte[batters.length];
+            byte[] lowestStrike = new byte[batters.length];
+            kernel.extremes(table.pitchColumns(), table.hitColumns(), 0, batters.length, highest, lowest, lowestStrike);
+            for (int id = 0; id < batters.length; id++) {
+                Batter batter = batters[id];
+                assertEquals(expected[id][0], batter.getHighestAverageZone());
+                assertEquals(expected[id][1], batter.getLowestAverageZone());
+                assertEquals(expected[id][2], batter.getLowestAverageStrikeZone());
+                assertEquals(PitchStrategy.pitch(batter, true), ZoneStats.recommendation(highest[id], lowest[id], true));
+                assertEquals(PitchStrategy.pitch(batter, false),
+                        ZoneStats.recommendation(highest[id], lowestStrike[id], false));
+            }
+        }
+        assertEquals(PitchResult.of(Zone.Z9, Zone.Z3), PitchStrategy.pitch(batters[0], true));
+        assertEquals(PitchResult.of(Zone.Z1, Zone.Z1), PitchStrategy.pitch(batters[1], true));
+        assertEquals(PitchResult.of(Zone.Z5, Zone.X3), PitchStrategy.pitch(batters[2], true));
+    }
+
+    @Test
+    @DisplayName("測試 SIMD 版本與純量版本結果一致")
+    void testVectorMatchesScalar() {
+        // surefire 以 --add-modules jdk.incubator.vector 執行，SIMD 版本應可載入
+        assertNotNull(ZoneStats.VECTOR, "SIMD 版本應可載入");
+
+        Random random = new Random(7);
+        int count = 1003;  // 非向量長度的倍數，包含剩餘部分
+        int[][] pitches = new int[Zone.COUNT][count];
+        int[][] hits = new int[Zone.COUNT][count];
+        for (int z = 0; z < Zone.COUNT; z++) {
+            for (int i = 0; i < count; i++) {
+                pitches[z][i] = random.nextInt(5) == 0 ? 0 : random.nextInt(20);
+                hits[z][i] = pitches[z][i] == 0 ? 0 : random.nextInt(pitches[z][i] + 1);
+            }
+        }
+
+        byte[][] expected = {new byte[count], new byte[count], new byte[count]};
+        byte[][] actual = {new byte[count], new byte[count], new byte[count]};
+        ZoneStats.SCALAR.extremes(pitches, hits, 0, count, expected[0], expected[1], expected[2]);
+        ZoneStats.VECTOR.extremes(pitches, hits, 0, count, actual[0], actual[1], actual[2]);
+        for (int k = 0; k < 3; k++) {
+            assertArrayEquals(expected[k], actual[k]);
+        }
+    }
+}